@@ -0,0 +1,66 @@
+package com.williamfeliciano.springboot.benchmark;
+
+import com.williamfeliciano.springboot.SpringBootUnitAndIntegrationTestingApplication;
+import com.williamfeliciano.springboot.dto.BatchItemResult;
+import com.williamfeliciano.springboot.model.Employee;
+import com.williamfeliciano.springboot.service.EmployeeService;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Boots the application for benchmarks and seeds the employees table.
+ */
+final class BenchmarkApplication {
+
+    private static final int SEED_CHUNK_SIZE = 10_000;
+
+    private static final String[] DEFAULT_ARGS = {
+            "--logging.level.root=WARN"
+    };
+
+    private BenchmarkApplication() {
+    }
+
+    static ConfigurableApplicationContext start(String... args) {
+        return start(WebApplicationType.NONE, args);
+    }
+
+    static ConfigurableApplicationContext start(WebApplicationType webApplicationType, String... args) {
+        SpringApplication application = new SpringApplication(SpringBootUnitAndIntegrationTestingApplication.class);
+        application.setWebApplicationType(webApplicationType);
+        return application.run(Stream.concat(Stream.of(DEFAULT_ARGS), Stream.of(args)).toArray(String[]::new));
+    }
+
+    /**
+     * Inserts {@code count} employees through the batch path and returns their ids.
+     */
+    static long[] seed(EmployeeService employeeService, int count) {
+        long[] ids = new long[count];
+        int seeded = 0;
+        while (seeded < count) {
+            int chunkSize = Math.min(SEED_CHUNK_SIZE, count - seeded);
+            List<Employee> chunk = new ArrayList<>(chunkSize);
+            for (int i = 0; i < chunkSize; i++) {
+                chunk.add(employee("seed-" + (seeded + i)));
+            }
+            for (BatchItemResult item : employeeService.saveEmployees(chunk).getItems()) {
+                ids[seeded + item.getIndex()] = item.getId();
+            }
+            seeded += chunkSize;
+        }
+        return ids;
+    }
+
+    static Employee employee(String key) {
+        return Employee.builder()
+                .firstName("First" + key)
+                .lastName("Last" + key)
+                .email(key + "@example.com")
+                .build();
+    }
+}
@@ -0,0 +1,124 @@
+package com.williamfeliciano.springboot.benchmark;
+
+import com.williamfeliciano.springboot.datasource.AdaptivePoolSizer;
+import com.williamfeliciano.springboot.service.EmployeeService;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Connection wait under 32 concurrent clients, each holding its connection for a version
+ * lookup plus {@code holdMillis} standing in for the round trip to a remote database. The
+ * pool is either fixed at 4 or 16 connections, or starts at 4 and is left to
+ * {@link AdaptivePoolSizer}. Each measurement iteration prints the p99 and maximum wait
+ * and the pool size at its end.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Threads(32)
+@Fork(1)
+public class EmployeeConnectionPoolBenchmark {
+
+    @Param({"fixed-4", "fixed-16", "adaptive"})
+    public String pool;
+
+    @Param({"2"})
+    public int holdMillis;
+
+    @Param({"10000"})
+    public int tableSize;
+
+    ConfigurableApplicationContext context;
+
+    DataSource dataSource;
+
+    long[] ids;
+
+    SimpleMeterRegistry waits = new SimpleMeterRegistry();
+
+    Timer connectionWait;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        boolean adaptive = "adaptive".equals(pool);
+        int size = adaptive ? 4 : Integer.parseInt(pool.substring("fixed-".length()));
+        context = BenchmarkApplication.start(
+                "--spring.datasource.hikari.maximum-pool-size=" + size,
+                "--spring.datasource.hikari.minimum-idle=" + size,
+                "--spring.datasource.hikari.connection-timeout=30000",
+                "--employee.datasource.adaptive-pool.enabled=" + adaptive,
+                "--employee.datasource.adaptive-pool.min-size=4",
+                "--employee.datasource.adaptive-pool.max-size=32",
+                "--employee.datasource.adaptive-pool.interval=1s");
+        dataSource = context.getBean(DataSource.class);
+        ids = BenchmarkApplication.seed(context.getBean(EmployeeService.class), tableSize);
+    }
+
+    @Setup(Level.Iteration)
+    public void startIteration() {
+        waits.clear();
+        connectionWait = Timer.builder("connection.wait")
+                .publishPercentiles(0.99)
+                .distributionStatisticExpiry(Duration.ofMinutes(10))
+                .register(waits);
+    }
+
+    @TearDown(Level.Iteration)
+    public void endIteration() throws SQLException {
+        System.out.printf("%n  connection wait p99 %.2f ms, max %.2f ms, pool size %d%n",
+                connectionWait.takeSnapshot().percentileValues()[0].value(TimeUnit.MILLISECONDS),
+                connectionWait.max(TimeUnit.MILLISECONDS),
+                dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public long findVersion() throws SQLException {
+        long id = ids[ThreadLocalRandom.current().nextInt(ids.length)];
+        long start = System.nanoTime();
+        try (Connection connection = dataSource.getConnection()) {
+            connectionWait.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "select version from employees where id = ?")) {
+                statement.setLong(1, id);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    resultSet.next();
+                    LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(holdMillis));
+                    return resultSet.getLong(1);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.williamfeliciano.springboot.benchmark;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Accepted creates per second under 64 concurrent clients, for the synchronous
+ * {@code POST /api/employees} and for {@code POST /api/employees/ingest}. The
+ * {@code accepted} and {@code rejected} counters split the async results into 202s
+ * and 429s.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Threads(64)
+@Fork(1)
+public class EmployeeIngestBenchmark {
+
+    ConfigurableApplicationContext context;
+
+    HttpClient client;
+
+    String baseUrl;
+
+    final AtomicLong keys = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start(WebApplicationType.SERVLET,
+                "--server.port=0",
+                "--employee.ingest.enabled=true");
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        baseUrl = "http://localhost:" + port + "/api/employees";
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Responses {
+
+        public long accepted;
+
+        public long rejected;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            accepted = 0;
+            rejected = 0;
+        }
+
+        void count(int status) {
+            if (status < 300) {
+                accepted++;
+            } else {
+                rejected++;
+            }
+        }
+    }
+
+    @Benchmark
+    public int createSync(Responses responses) throws IOException, InterruptedException {
+        return post(baseUrl, responses);
+    }
+
+    @Benchmark
+    public int createAsync(Responses responses) throws IOException, InterruptedException {
+        return post(baseUrl + "/ingest", responses);
+    }
+
+    private int post(String url, Responses responses) throws IOException, InterruptedException {
+        long key = keys.incrementAndGet();
+        String body = "{\"firstName\":\"First" + key + "\",\"lastName\":\"Last" + key
+                + "\",\"email\":\"employee" + key + "@example.com\"}";
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        responses.count(status);
+        return status;
+    }
+}
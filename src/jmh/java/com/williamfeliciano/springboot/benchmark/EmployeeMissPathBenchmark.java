@@ -0,0 +1,95 @@
+package com.williamfeliciano.springboot.benchmark;
+
+import com.williamfeliciano.springboot.service.EmployeeService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of requests for employees that don't exist, the path clients probing ids
+ * take. {@code PUT /api/employees/{id}} and {@code DELETE /api/employees/{id}} throw
+ * ResourceNotFoundException for a missing id, so this measures what a miss costs end to
+ * end: the exception, the rolled back transaction and the error response.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 4, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Threads(16)
+@Fork(1)
+public class EmployeeMissPathBenchmark {
+
+    private static final String EMPLOYEE_JSON =
+            "{\"firstName\":\"First\",\"lastName\":\"Last\",\"email\":\"miss@example.com\"}";
+
+    @Param({"1000"})
+    public int tableSize;
+
+    ConfigurableApplicationContext context;
+
+    HttpClient client;
+
+    String baseUrl;
+
+    // Ids above every seeded one
+    long firstMissingId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start(WebApplicationType.SERVLET,
+                "--server.port=0",
+                "--employee.cache.maximum-size=0");
+        long[] ids = BenchmarkApplication.seed(context.getBean(EmployeeService.class), tableSize);
+        firstMissingId = ids[ids.length - 1] + 1_000_000;
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        baseUrl = "http://localhost:" + port + "/api/employees/";
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int updateMissingEmployee() throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(missingEmployeeUri())
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofString(EMPLOYEE_JSON))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    @Benchmark
+    public int deleteMissingEmployee() throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(missingEmployeeUri()).DELETE().build();
+        return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private URI missingEmployeeUri() {
+        return URI.create(baseUrl + (firstMissingId + ThreadLocalRandom.current().nextInt(1_000_000)));
+    }
+}
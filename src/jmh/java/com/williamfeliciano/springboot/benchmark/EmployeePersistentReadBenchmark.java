@@ -0,0 +1,100 @@
+package com.williamfeliciano.springboot.benchmark;
+
+import com.williamfeliciano.springboot.model.Employee;
+import com.williamfeliciano.springboot.service.EmployeeService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of lookups by id through EmployeeService, with the employee cache off, against
+ * the persistent profile's file-backed H2 on a 128 MB heap. Run it with a table larger
+ * than the heap, e.g. {@code -Djmh.tableSize=2000000}. The database is kept in
+ * target/benchmark-data and only topped up when it holds fewer rows, so only the first run
+ * pays for seeding. {@code fileSystem} nioMapped memory-maps the database file, file reads
+ * it through a FileChannel; {@code cacheSize} is H2's page cache in KB.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Threads(4)
+@Fork(value = 1, jvmArgsAppend = "-Xmx128m")
+public class EmployeePersistentReadBenchmark {
+
+    private static final int SEED_CHUNK_SIZE = 100_000;
+
+    // allocationSize of employees_seq
+    private static final int ID_BLOCK_SIZE = 50;
+
+    @Param({"file", "nioMapped"})
+    public String fileSystem;
+
+    @Param({"16384", "65536"})
+    public int cacheSize;
+
+    @Param({"2000000"})
+    public int tableSize;
+
+    ConfigurableApplicationContext context;
+
+    EmployeeService employeeService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start(
+                "--spring.profiles.active=persistent",
+                "--employee.h2.data-dir=./target/benchmark-data",
+                "--employee.h2.file-system=" + fileSystem,
+                "--employee.h2.cache-size=" + cacheSize,
+                "--employee.cache.maximum-size=0");
+        employeeService = context.getBean(EmployeeService.class);
+        seed(context.getBean(JdbcTemplate.class));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<Employee> getEmployeeById() {
+        return employeeService.getEmployeeById(ThreadLocalRandom.current().nextLong(1, tableSize + 1));
+    }
+
+    // Ids 1 to tableSize, written in bulk rather than through the service, which would take
+    // longer than the benchmark for millions of rows
+    private void seed(JdbcTemplate jdbcTemplate) {
+        long existing = jdbcTemplate.queryForObject("select coalesce(max(id), 0) from employees", Long.class);
+        for (long from = existing + 1; from <= tableSize; from += SEED_CHUNK_SIZE) {
+            jdbcTemplate.update("""
+                    insert into employees (id, first_name, last_name, email, version)
+                    select x, concat('First', x), concat('Last', x), concat('seed-', x, '@example.com'), 0
+                    from system_range(?, ?)
+                    """, from, Math.min(from + SEED_CHUNK_SIZE - 1, tableSize));
+        }
+        if (existing < tableSize) {
+            // Keep ids handed out by Hibernate above the seeded ones
+            jdbcTemplate.execute("alter sequence employees_seq restart with "
+                    + ((tableSize / ID_BLOCK_SIZE) + 1) * ID_BLOCK_SIZE);
+        }
+    }
+}
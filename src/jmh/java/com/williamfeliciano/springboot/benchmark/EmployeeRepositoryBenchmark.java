@@ -0,0 +1,126 @@
+package com.williamfeliciano.springboot.benchmark;
+
+import com.williamfeliciano.springboot.model.Employee;
+import com.williamfeliciano.springboot.repository.EmployeeRepository;
+import com.williamfeliciano.springboot.service.EmployeeService;
+import jakarta.persistence.CacheRetrieveMode;
+import jakarta.persistence.EntityManager;
+import org.hibernate.jpa.SpecHints;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of the EmployeeService write paths and EmployeeRepository reads against
+ * an embedded H2 holding {@code tableSize} employees. {@code findById} bypasses the
+ * Hibernate second-level cache to measure the JPA path, {@code findByIdCached} goes through
+ * EmployeeCache, and {@code findByEmail} is served by the query cache once warm.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class EmployeeRepositoryBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int tableSize;
+
+    private static final Map<String, Object> BYPASS_SECOND_LEVEL_CACHE =
+            Map.of(SpecHints.HINT_SPEC_CACHE_RETRIEVE_MODE, CacheRetrieveMode.BYPASS);
+
+    ConfigurableApplicationContext context;
+
+    EmployeeService employeeService;
+
+    EmployeeRepository employeeRepository;
+
+    EntityManager entityManager;
+
+    long[] ids;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        employeeService = context.getBean(EmployeeService.class);
+        employeeRepository = context.getBean(EmployeeRepository.class);
+        entityManager = context.getBean(EntityManager.class);
+        ids = BenchmarkApplication.seed(employeeService, tableSize);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    long randomId() {
+        return ids[ThreadLocalRandom.current().nextInt(ids.length)];
+    }
+
+    @Benchmark
+    public Employee create() {
+        return employeeService.saveEmployee(BenchmarkApplication.employee(UUID.randomUUID().toString()));
+    }
+
+    @Benchmark
+    public Optional<Employee> findById() {
+        return Optional.ofNullable(entityManager.find(Employee.class, randomId(), BYPASS_SECOND_LEVEL_CACHE));
+    }
+
+    @Benchmark
+    public Optional<Employee> findByIdCached() {
+        return employeeService.getEmployeeById(randomId());
+    }
+
+    @Benchmark
+    public Optional<Employee> findByEmail() {
+        return employeeRepository.findByEmail("seed-" + ThreadLocalRandom.current().nextInt(tableSize) + "@example.com");
+    }
+
+    @Benchmark
+    public Employee update() {
+        Employee employee = BenchmarkApplication.employee(UUID.randomUUID().toString());
+        return employeeService.updateEmployee(randomId(), employee);
+    }
+
+    @Benchmark
+    public Employee delete(DeleteState state) {
+        return employeeService.deleteEmployee(state.id);
+    }
+
+    @Benchmark
+    @Measurement(iterations = 3, time = 5)
+    public List<Employee> findAll() {
+        return employeeRepository.findAll();
+    }
+
+    @State(Scope.Thread)
+    public static class DeleteState {
+
+        long id;
+
+        @Setup(Level.Invocation)
+        public void setUp(EmployeeRepositoryBenchmark benchmark) {
+            id = benchmark.create().getId();
+        }
+    }
+}
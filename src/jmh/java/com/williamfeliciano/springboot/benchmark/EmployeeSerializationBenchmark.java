@@ -0,0 +1,73 @@
+package com.williamfeliciano.springboot.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.williamfeliciano.springboot.codec.EmployeeJsonSerializer;
+import com.williamfeliciano.springboot.model.Employee;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of employee lists as the list endpoint produces them, through
+ * the reflective bean serializer or the hand-written {@link EmployeeJsonSerializer}.
+ * Run with {@code -prof gc}; {@code gc.alloc.rate.norm} divided by {@code listSize}
+ * is the bytes allocated per employee.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EmployeeSerializationBenchmark {
+
+    @Param({"1", "100", "10000"})
+    public int listSize;
+
+    @Param({"reflective", "tuned"})
+    public String serializer;
+
+    ObjectMapper objectMapper;
+
+    List<Employee> employees;
+
+    @Setup
+    public void setUp() {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+        if (serializer.equals("tuned")) {
+            builder.modulesToInstall(EmployeeJsonSerializer.module());
+        }
+        objectMapper = builder.build();
+        employees = new ArrayList<>(listSize);
+        for (int i = 0; i < listSize; i++) {
+            Employee employee = BenchmarkApplication.employee("serialize-" + i);
+            employee.setId((long) i);
+            employees.add(employee);
+        }
+    }
+
+    @Benchmark
+    public byte[] writeValueAsBytes() throws IOException {
+        return objectMapper.writeValueAsBytes(employees);
+    }
+
+    @Benchmark
+    public void writeToStream() throws IOException {
+        objectMapper.writeValue(OutputStream.nullOutputStream(), employees);
+    }
+}
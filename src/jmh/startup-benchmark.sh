@@ -0,0 +1,152 @@
+#!/usr/bin/env bash
+#
+# Startup time and memory of the application in each deployment mode:
+#
+#   jvm       the executable jar
+#   cds       the unpacked jar with a dynamic AppCDS archive from a training run
+#   aot       the jar built with -Pnative, run with -Dspring.aot.enabled=true
+#   aot-cds   both of the above
+#   native    the GraalVM native executable, only when native-image is on the PATH
+#
+# For every run it reports the time from launching the process until the first
+# GET /api/employees/1 is answered, which goes through MVC, the service, Hibernate and
+# the database, and the resident set size right after that request. Linux only.
+#
+#   src/jmh/startup-benchmark.sh [mode ...]
+#
+# Environment: RUNS (default 5), PORT (default 18080), MVN (default ./mvnw),
+# JAVA_OPTS passed to every JVM mode.
+
+set -euo pipefail
+
+cd "$(dirname "$0")/../.."
+
+RUNS=${RUNS:-5}
+PORT=${PORT:-18080}
+MVN=${MVN:-./mvnw}
+JAVA_OPTS=${JAVA_OPTS:-}
+WORK=target/startup
+ARTIFACT=SpringBootUnitAndIntegrationTesting
+MODES=("$@")
+if [ ${#MODES[@]} -eq 0 ]; then
+    MODES=(jvm cds aot aot-cds)
+    if command -v native-image >/dev/null; then
+        MODES+=(native)
+    fi
+fi
+
+wants() {
+    local mode
+    for mode in "${MODES[@]}"; do
+        [[ $mode == "$1"* ]] && return 0
+    done
+    return 1
+}
+
+# Cleans once up front, the plain jar has to be built before the AOT classes are generated
+build() {
+    $MVN -q -B clean
+    mkdir -p "$WORK"
+    if wants jvm || wants cds; then
+        $MVN -q -B -DskipTests package
+        cp target/$ARTIFACT-*.jar "$WORK/jvm.jar"
+        unpack jvm
+    fi
+    if wants aot; then
+        $MVN -q -B -Pnative -DskipTests package
+        cp target/$ARTIFACT-*.jar "$WORK/aot.jar"
+        unpack aot
+    fi
+    if wants native; then
+        $MVN -q -B -Pnative -DskipTests native:compile
+        cp target/$ARTIFACT "$WORK/native"
+    fi
+}
+
+# CDS only archives classes loaded from jar files by the application class loader, so the
+# nested jars are unpacked and the application classes put in a jar of their own
+unpack() {
+    local dir=$WORK/$1
+    mkdir -p "$dir/unpacked"
+    (cd "$dir/unpacked" && jar xf ../../$1.jar)
+    jar cf "$dir/application.jar" -C "$dir/unpacked/BOOT-INF/classes" .
+    # Manifest lines longer than 72 bytes continue on lines starting with a space
+    unzip -p "$WORK/$1.jar" META-INF/MANIFEST.MF | tr -d '\r' \
+        | awk '/^ / { line = line substr($0, 2); next } { print line; line = $0 } END { print line }' \
+        | sed -n 's/^Start-Class: *//p' > "$dir/main-class"
+}
+
+command_for() {
+    case $1 in
+        jvm) echo "java $JAVA_OPTS -jar $WORK/jvm.jar" ;;
+        aot) echo "java $JAVA_OPTS -Dspring.aot.enabled=true -jar $WORK/aot.jar" ;;
+        cds) unpacked_command jvm "-XX:SharedArchiveFile=$WORK/jvm/app.jsa" ;;
+        aot-cds) unpacked_command aot "-XX:SharedArchiveFile=$WORK/aot/app.jsa" ;;
+        native) echo "$WORK/native" ;;
+    esac
+}
+
+unpacked_command() {
+    local dir=$WORK/$1 aot=""
+    [ "$1" = aot ] && aot="-Dspring.aot.enabled=true"
+    echo "java $JAVA_OPTS $aot $2 -Xlog:cds=off -Xlog:cds+dynamic=off" \
+        "-cp $dir/application.jar:$dir/unpacked/BOOT-INF/lib/* $(cat "$dir/main-class")"
+}
+
+# Starts the command in the background and waits for the first answered request, leaving
+# the process id in $pid, the elapsed milliseconds in $millis and the RSS in MB in $rss
+start_and_measure() {
+    local start now
+    start=$(date +%s%N)
+    # No globbing, the class path wildcard is expanded by the java launcher
+    set -f
+    $1 --server.port="$PORT" > "$WORK/last-run.log" 2>&1 &
+    pid=$!
+    set +f
+    until curl -s -o /dev/null "http://localhost:$PORT/api/employees/1"; do
+        if ! kill -0 "$pid" 2>/dev/null; then
+            echo "The application exited, see $WORK/last-run.log" >&2
+            exit 1
+        fi
+        sleep 0.02
+    done
+    now=$(date +%s%N)
+    millis=$(( (now - start) / 1000000 ))
+    rss=$(( $(awk '/^VmRSS/ {print $2}' "/proc/$pid/status") / 1024 ))
+}
+
+stop() {
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+}
+
+train() {
+    start_and_measure "$(unpacked_command "$1" "-XX:ArchiveClassesAtExit=$WORK/$1/app.jsa")"
+    # The archive is written when the JVM exits
+    stop
+}
+
+median() {
+    sort -n | awk '{ values[NR] = $1 } END { print values[int((NR + 1) / 2)] }'
+}
+
+build
+if wants cds; then
+    train jvm
+fi
+if wants aot-cds; then
+    train aot
+fi
+
+printf '%-8s %10s %10s   (median of %d runs)\n' mode first-ms rss-mb "$RUNS"
+for mode in "${MODES[@]}"; do
+    : > "$WORK/$mode.times"
+    : > "$WORK/$mode.rss"
+    for _ in $(seq "$RUNS"); do
+        start_and_measure "$(command_for "$mode")"
+        stop
+        echo "$millis" >> "$WORK/$mode.times"
+        echo "$rss" >> "$WORK/$mode.rss"
+    done
+    printf '%-8s %10s %10s\n' "$mode" "$(median < "$WORK/$mode.times")" "$(median < "$WORK/$mode.rss")"
+done
@@ -1,9 +1,14 @@
 package com.williamfeliciano.springboot;
 
+import com.williamfeliciano.springboot.config.EmployeeRuntimeHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
+import org.springframework.context.annotation.ImportRuntimeHints;
 
 @SpringBootApplication
+@ConfigurationPropertiesScan
+@ImportRuntimeHints(EmployeeRuntimeHints.class)
 public class SpringBootUnitAndIntegrationTestingApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,135 @@
+package com.williamfeliciano.springboot.codec;
+
+import com.williamfeliciano.springboot.model.Employee;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads employees one record at a time from RFC 4180 CSV with a header line. Columns are
+ * matched by header name ({@code firstName}, {@code lastName}, {@code email}) and other
+ * columns such as {@code id} are ignored. A missing value reads as {@code null}.
+ */
+public class EmployeeCsvReader implements Iterator<Employee>, Closeable {
+
+    private final Reader reader;
+
+    private int firstNameColumn = -1;
+
+    private int lastNameColumn = -1;
+
+    private int emailColumn = -1;
+
+    private List<String> nextRecord;
+
+    public EmployeeCsvReader(Reader reader) {
+        // Parsing is char by char, so the reader must be buffered
+        this.reader = reader.markSupported() ? reader : new BufferedReader(reader);
+        List<String> header = readRecord();
+        if (header != null) {
+            for (int i = 0; i < header.size(); i++) {
+                switch (header.get(i).trim()) {
+                    case "firstName" -> firstNameColumn = i;
+                    case "lastName" -> lastNameColumn = i;
+                    case "email" -> emailColumn = i;
+                    default -> {
+                        // not imported
+                    }
+                }
+            }
+            nextRecord = readRecord();
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        return nextRecord != null;
+    }
+
+    @Override
+    public Employee next() {
+        if (nextRecord == null) {
+            throw new NoSuchElementException();
+        }
+        List<String> record = nextRecord;
+        nextRecord = readRecord();
+        return Employee.builder()
+                .firstName(column(record, firstNameColumn))
+                .lastName(column(record, lastNameColumn))
+                .email(column(record, emailColumn))
+                .build();
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private static String column(List<String> record, int column) {
+        if (column < 0 || column >= record.size() || record.get(column).isEmpty()) {
+            return null;
+        }
+        return record.get(column);
+    }
+
+    // Returns null at the end of the input; blank lines are skipped
+    private List<String> readRecord() {
+        try {
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            boolean empty = true;
+            int c;
+            while ((c = reader.read()) != -1) {
+                empty = false;
+                if (quoted) {
+                    if (c == '"') {
+                        reader.mark(1);
+                        if (reader.read() == '"') {
+                            field.append('"');
+                        } else {
+                            reader.reset();
+                            quoted = false;
+                        }
+                    } else {
+                        field.append((char) c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\n' || c == '\r') {
+                    if (c == '\r') {
+                        reader.mark(1);
+                        if (reader.read() != '\n') {
+                            reader.reset();
+                        }
+                    }
+                    if (fields.isEmpty() && field.length() == 0) {
+                        empty = true;
+                        continue;
+                    }
+                    fields.add(field.toString());
+                    return fields;
+                } else {
+                    field.append((char) c);
+                }
+            }
+            if (empty) {
+                return null;
+            }
+            fields.add(field.toString());
+            return fields;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
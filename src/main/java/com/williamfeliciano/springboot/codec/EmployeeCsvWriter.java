@@ -0,0 +1,60 @@
+package com.williamfeliciano.springboot.codec;
+
+import com.williamfeliciano.springboot.model.Employee;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes employees as RFC 4180 CSV in the format {@link EmployeeCsvReader} reads.
+ * Closing flushes but leaves the underlying stream open.
+ */
+public class EmployeeCsvWriter implements Closeable {
+
+    public static final String HEADER = "id,firstName,lastName,email,version";
+
+    private final Writer writer;
+
+    public EmployeeCsvWriter(OutputStream outputStream) throws IOException {
+        this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        writer.write(HEADER);
+        writer.write("\r\n");
+    }
+
+    public void write(Employee employee) throws IOException {
+        writeValue(employee.getId());
+        writer.write(',');
+        writeValue(employee.getFirstName());
+        writer.write(',');
+        writeValue(employee.getLastName());
+        writer.write(',');
+        writeValue(employee.getEmail());
+        writer.write(',');
+        writeValue(employee.getVersion());
+        writer.write("\r\n");
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.flush();
+    }
+
+    private void writeValue(Object value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            writer.write(text);
+            return;
+        }
+        writer.write('"');
+        writer.write(text.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
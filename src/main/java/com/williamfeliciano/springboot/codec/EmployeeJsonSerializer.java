@@ -0,0 +1,72 @@
+package com.williamfeliciano.springboot.codec;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.williamfeliciano.springboot.model.Employee;
+
+import java.io.IOException;
+
+/**
+ * Writes an employee field by field instead of going through Jackson's reflective bean
+ * serializer. Field names are encoded once, so the generator copies their bytes straight
+ * into its recycled output buffer. The output is the same as the bean serializer's:
+ * the same property order, and null values written as {@code null}. It does not honour
+ * per-mapper settings such as a non-default property inclusion.
+ */
+public class EmployeeJsonSerializer extends StdSerializer<Employee> {
+
+    private static final SerializableString ID = new SerializedString("id");
+
+    private static final SerializableString FIRST_NAME = new SerializedString("firstName");
+
+    private static final SerializableString LAST_NAME = new SerializedString("lastName");
+
+    private static final SerializableString EMAIL = new SerializedString("email");
+
+    private static final SerializableString VERSION = new SerializedString("version");
+
+    public EmployeeJsonSerializer() {
+        super(Employee.class);
+    }
+
+    /**
+     * A module registering this serializer. Deserialization is left to the bean deserializer.
+     */
+    public static SimpleModule module() {
+        return new SimpleModule(EmployeeJsonSerializer.class.getSimpleName())
+                .addSerializer(Employee.class, new EmployeeJsonSerializer());
+    }
+
+    @Override
+    public void serialize(Employee employee, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        generator.writeStartObject(employee);
+        writeNumber(generator, ID, employee.getId());
+        writeString(generator, FIRST_NAME, employee.getFirstName());
+        writeString(generator, LAST_NAME, employee.getLastName());
+        writeString(generator, EMAIL, employee.getEmail());
+        writeNumber(generator, VERSION, employee.getVersion());
+        generator.writeEndObject();
+    }
+
+    private static void writeNumber(JsonGenerator generator, SerializableString name, Long value) throws IOException {
+        generator.writeFieldName(name);
+        if (value == null) {
+            generator.writeNull();
+        } else {
+            generator.writeNumber(value.longValue());
+        }
+    }
+
+    private static void writeString(JsonGenerator generator, SerializableString name, String value) throws IOException {
+        generator.writeFieldName(name);
+        if (value == null) {
+            generator.writeNull();
+        } else {
+            generator.writeString(value);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.williamfeliciano.springboot.codec;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.williamfeliciano.springboot.model.Employee;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes employees as newline delimited JSON through one generator, so the output is
+ * buffered and flushed in blocks rather than per employee. Closing flushes but leaves
+ * the underlying stream open.
+ */
+public class EmployeeNdjsonWriter implements Closeable {
+
+    private final ObjectWriter writer;
+
+    private final JsonGenerator generator;
+
+    public EmployeeNdjsonWriter(ObjectMapper objectMapper, OutputStream outputStream) throws IOException {
+        this.writer = objectMapper.writerFor(Employee.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.generator = objectMapper.createGenerator(outputStream);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.setRootValueSeparator(null);
+    }
+
+    public void write(Employee employee) throws IOException {
+        writer.writeValue(generator, employee);
+        generator.writeRaw('\n');
+    }
+
+    @Override
+    public void close() throws IOException {
+        generator.close();
+    }
+}
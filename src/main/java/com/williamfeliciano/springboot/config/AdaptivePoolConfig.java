@@ -0,0 +1,29 @@
+package com.williamfeliciano.springboot.config;
+
+import com.williamfeliciano.springboot.datasource.AdaptivePoolSizer;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+/**
+ * Lets {@link AdaptivePoolSizer} size the connection pool instead of the fixed
+ * spring.datasource.hikari sizes, which only give its starting size. With read replicas
+ * it sizes the primary's pool.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "employee.datasource.adaptive-pool", name = "enabled", havingValue = "true")
+public class AdaptivePoolConfig {
+
+    @Bean
+    public AdaptivePoolSizer adaptivePoolSizer(DataSource dataSource, MeterRegistry meterRegistry,
+                                               AdaptivePoolProperties properties) throws SQLException {
+        return new AdaptivePoolSizer(dataSource.unwrap(HikariDataSource.class), meterRegistry,
+                properties.getMinSize(), properties.getMaxSize(), properties.getTargetWait(),
+                properties.getInterval(), properties.getShrinkAfter());
+    }
+}
@@ -0,0 +1,26 @@
+package com.williamfeliciano.springboot.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "employee.datasource.adaptive-pool")
+public class AdaptivePoolProperties {
+
+    private boolean enabled = false;
+
+    private int minSize = 5;
+
+    private int maxSize = 30;
+
+    // Mean connection wait over an interval above which the pool grows
+    private Duration targetWait = Duration.ofMillis(5);
+
+    private Duration interval = Duration.ofSeconds(5);
+
+    // Quiet intervals in a row before the pool gives back a connection
+    private int shrinkAfter = 6;
+
+}
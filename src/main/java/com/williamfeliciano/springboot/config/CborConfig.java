@@ -0,0 +1,23 @@
+package com.williamfeliciano.springboot.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Lets clients exchange {@code application/cbor} instead of JSON on the employee endpoints.
+ * Spring MVC adds a CBOR converter of its own once the dataformat is on the classpath,
+ * but that one is built from a plain mapper. This one replaces it and shares Spring Boot's
+ * Jackson settings and modules with the JSON converter. JSON stays the default when the
+ * Accept header does not ask for CBOR.
+ */
+@Configuration(proxyBeanMethods = false)
+public class CborConfig {
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+}
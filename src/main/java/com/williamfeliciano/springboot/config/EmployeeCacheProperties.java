@@ -0,0 +1,22 @@
+package com.williamfeliciano.springboot.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "employee.cache")
+public class EmployeeCacheProperties {
+
+    private long maximumSize = 10_000;
+
+    private Duration ttl = Duration.ofMinutes(10);
+
+    // Ids known to be missing are kept for a shorter time
+    private Duration negativeTtl = Duration.ofSeconds(30);
+
+    // Newest employees loaded into the cache at startup, at most maximumSize; 0 for none
+    private int warmUpSize = 0;
+
+}
@@ -0,0 +1,26 @@
+package com.williamfeliciano.springboot.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "employee.ingest")
+public class EmployeeIngestProperties {
+
+    private boolean enabled = false;
+
+    // Creates beyond this many waiting ones are rejected with 429
+    private int capacity = 10_000;
+
+    private int batchSize = 500;
+
+    // How long the outcome of a submission can be looked up
+    private Duration statusTtl = Duration.ofMinutes(10);
+
+    private long maxTrackedStatuses = 100_000;
+
+    private Duration shutdownTimeout = Duration.ofSeconds(30);
+
+}
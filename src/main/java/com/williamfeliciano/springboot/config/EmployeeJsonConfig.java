@@ -0,0 +1,22 @@
+package com.williamfeliciano.springboot.config;
+
+import com.fasterxml.jackson.databind.Module;
+import com.williamfeliciano.springboot.codec.EmployeeJsonSerializer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registers the hand-written employee serializer with the application's ObjectMapper.
+ * It then covers every response that contains employees, including lists, pages, the
+ * NDJSON stream and the WebFlux variant.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "employee.json.tuned-serializer", name = "enabled", havingValue = "true")
+public class EmployeeJsonConfig {
+
+    @Bean
+    public Module employeeJsonModule() {
+        return EmployeeJsonSerializer.module();
+    }
+}
@@ -0,0 +1,47 @@
+package com.williamfeliciano.springboot.config;
+
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import com.williamfeliciano.springboot.dto.BatchItemResult;
+import com.williamfeliciano.springboot.dto.BatchResult;
+import com.williamfeliciano.springboot.dto.CursorPage;
+import com.williamfeliciano.springboot.dto.ImportResult;
+import com.williamfeliciano.springboot.dto.IngestStatus;
+import com.williamfeliciano.springboot.dto.SlicePage;
+import com.williamfeliciano.springboot.model.Employee;
+import com.williamfeliciano.springboot.model.EmployeeChange;
+import com.williamfeliciano.springboot.repository.EmployeeChangeRepository;
+import com.williamfeliciano.springboot.repository.EmployeeProjectionRepository;
+import com.williamfeliciano.springboot.repository.EmployeeRepository;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+
+/**
+ * Reflection a native image can't discover on its own. Spring's AOT processing covers
+ * the types in controller signatures, the repository proxies and the JPA entities, but
+ * not the Jackson accessors Lombok generates on types that only appear nested in a
+ * response or in an SSE event, the query annotations Spring Data reads from the
+ * repositories at runtime, or the cache classes that are looked up by name.
+ */
+public class EmployeeRuntimeHints implements RuntimeHintsRegistrar {
+
+    private final BindingReflectionHintsRegistrar bindingRegistrar = new BindingReflectionHintsRegistrar();
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        bindingRegistrar.registerReflectionHints(hints.reflection(),
+                Employee.class, EmployeeChange.class, CursorPage.class, SlicePage.class,
+                BatchResult.class, BatchItemResult.class, ImportResult.class, IngestStatus.class);
+        hints.reflection().registerType(Employee.class, MemberCategory.DECLARED_FIELDS);
+        for (Class<?> repository : new Class<?>[]{EmployeeRepository.class, EmployeeProjectionRepository.class,
+                EmployeeChangeRepository.class}) {
+            hints.reflection().registerType(repository, MemberCategory.INTROSPECT_PUBLIC_METHODS,
+                    MemberCategory.INVOKE_PUBLIC_METHODS);
+        }
+        hints.reflection().registerType(CaffeineCachingProvider.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+        hints.reflection().registerType(JCacheRegionFactory.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+        hints.resources().registerPattern("reference.conf");
+    }
+}
@@ -0,0 +1,26 @@
+package com.williamfeliciano.springboot.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "employee.hibernate-cache")
+public class HibernateCacheProperties {
+
+    // Every second-level and query cache region Hibernate uses, by region name
+    private Map<String, Region> regions = new LinkedHashMap<>();
+
+    @Data
+    public static class Region {
+
+        private long maximumSize = 10_000;
+
+        // Entries without a ttl only leave the region by size or invalidation
+        private Duration ttl;
+
+    }
+}
@@ -0,0 +1,55 @@
+package com.williamfeliciano.springboot.config;
+
+import com.williamfeliciano.springboot.ratelimit.GlobalConcurrencyLimit;
+import com.williamfeliciano.springboot.ratelimit.RateLimitInterceptor;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+/**
+ * Puts the employee endpoints behind {@link RateLimitInterceptor}.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "employee.rate-limit", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(RateLimitProperties.class)
+public class RateLimitConfig implements WebMvcConfigurer {
+
+    private final RateLimitInterceptor rateLimitInterceptor;
+
+    public RateLimitConfig(RateLimitProperties properties, ObjectProvider<DataSource> dataSource,
+                           ObjectProvider<MeterRegistry> meterRegistry) throws SQLException {
+        // Sliced MVC tests run without a meter registry
+        this.rateLimitInterceptor = new RateLimitInterceptor(properties, globalLimit(properties, dataSource),
+                meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+    }
+
+    // Read from the live pool, which AdaptivePoolSizer may resize; with read replicas the
+    // data source unwraps to the primary's pool
+    private static GlobalConcurrencyLimit globalLimit(RateLimitProperties properties,
+                                                      ObjectProvider<DataSource> dataSource) throws SQLException {
+        Integer fixedLimit = properties.getConcurrency().getGlobalLimit();
+        if (fixedLimit != null) {
+            return new GlobalConcurrencyLimit(() -> fixedLimit);
+        }
+        DataSource pool = dataSource.getIfAvailable();
+        if (pool == null || !pool.isWrapperFor(HikariDataSource.class)) {
+            throw new IllegalStateException(
+                    "employee.rate-limit.concurrency.global-limit is required without a Hikari connection pool");
+        }
+        return GlobalConcurrencyLimit.ofPool(pool.unwrap(HikariDataSource.class));
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(rateLimitInterceptor).addPathPatterns("/api/employees/**");
+    }
+}
@@ -0,0 +1,47 @@
+package com.williamfeliciano.springboot.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "employee.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = false;
+
+    // Sustained requests per second and burst size allowed to each client
+    private double requestsPerSecond = 50;
+
+    private int burst = 100;
+
+    // Header carrying the client id, set by a trusted gateway; the remote address when unset
+    private String clientIdHeader;
+
+    private long maxClients = 100_000;
+
+    // A client idle this long starts again with a full bucket
+    private Duration clientIdleTimeout = Duration.ofMinutes(1);
+
+    private Concurrency concurrency = new Concurrency();
+
+    @Data
+    public static class Concurrency {
+
+        // Across all endpoints; unset, it follows the Hikari pool's current maximum size
+        private Integer globalLimit;
+
+        // Per endpoint, each a share of the global limit
+        private int initialLimit = 10;
+
+        private int minLimit = 1;
+
+        private int maxLimit = 10;
+
+        // A window of requests, with the limit at least half used, whose median latency is over
+        // this multiple of the baseline shrinks the limit
+        private double latencyTolerance = 2.0;
+
+    }
+}
@@ -0,0 +1,24 @@
+package com.williamfeliciano.springboot.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "employee.datasource.replicas")
+public class ReplicaDataSourceProperties {
+
+    private boolean enabled = false;
+
+    // JDBC URLs of the replicas; they share spring.datasource's credentials and Hikari settings
+    private List<String> urls = new ArrayList<>();
+
+    private Duration healthCheckInterval = Duration.ofSeconds(5);
+
+    // How long a client's reads stay on the primary after it wrote, zero to turn this off
+    private Duration readYourWritesWindow = Duration.ofSeconds(5);
+
+}
@@ -1,10 +1,20 @@
 package com.williamfeliciano.springboot.controller;
 
-import com.williamfeliciano.springboot.exception.ResourceNotFoundException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.williamfeliciano.springboot.codec.EmployeeNdjsonWriter;
+import com.williamfeliciano.springboot.dto.BatchResult;
+import com.williamfeliciano.springboot.dto.CursorPage;
+import com.williamfeliciano.springboot.dto.SlicePage;
 import com.williamfeliciano.springboot.model.Employee;
+import com.williamfeliciano.springboot.model.EmployeeChange;
+import com.williamfeliciano.springboot.model.EmployeeField;
+import com.williamfeliciano.springboot.service.EmployeeChangeFeed;
 import com.williamfeliciano.springboot.service.EmployeeService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -12,45 +22,140 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Set;
+
+import static com.williamfeliciano.springboot.controller.EmployeeETags.eTag;
+import static com.williamfeliciano.springboot.controller.EmployeeETags.expectedVersion;
+import static com.williamfeliciano.springboot.controller.EmployeeETags.matchesAny;
 
 @RestController
 @RequestMapping("/api/employees")
 @RequiredArgsConstructor
+@Profile("!reactive")
 public class EmployeeController {
 
     private final EmployeeService employeeService;
 
+    private final EmployeeChangeFeed employeeChangeFeed;
+
+    private final ObjectMapper objectMapper;
+
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
     public Employee createEmployee(@RequestBody Employee employee) {
         return employeeService.saveEmployee(employee);
     }
 
+    @PostMapping("batch")
+    public BatchResult createEmployees(@RequestBody List<Employee> employees) {
+        return employeeService.saveEmployees(employees);
+    }
+
     @GetMapping
     public List<Employee> getAllEmployees(){
         return employeeService.getAllEmployees();
     }
 
+    @GetMapping(params = {"limit", "!fields"})
+    public CursorPage<Employee> getEmployeesPage(@RequestParam(required = false) Long after,
+                                                 @RequestParam int limit) {
+        return employeeService.getEmployeesPage(after, limit);
+    }
+
+    @GetMapping(params = "fields")
+    public CursorPage<Map<String, Object>> getEmployeeFieldsPage(@RequestParam String fields,
+                                                                 @RequestParam(required = false) Long after,
+                                                                 @RequestParam(required = false) Integer limit) {
+        Set<EmployeeField> requestedFields;
+        try {
+            requestedFields = EmployeeField.parse(fields);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        return employeeService.getEmployeeFieldsPage(requestedFields, after,
+                limit == null ? EmployeeService.MAX_PAGE_SIZE : limit);
+    }
+
+    @GetMapping("search")
+    public SlicePage<Employee> searchEmployees(@RequestParam(required = false) String lastName,
+                                              @RequestParam(required = false) String email,
+                                              @RequestParam(defaultValue = "0") int page,
+                                              @RequestParam(defaultValue = "20") int size) {
+        if (lastName == null && email == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "lastName or email is required");
+        }
+        return employeeService.searchEmployees(lastName, email, page, size);
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamEmployees() {
+        StreamingResponseBody body = outputStream -> {
+            try (EmployeeNdjsonWriter writer = new EmployeeNdjsonWriter(objectMapper, outputStream)) {
+                employeeService.streamEmployees(employee -> {
+                    try {
+                        writer.write(employee);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    @GetMapping("changes")
+    public CursorPage<EmployeeChange> getChanges(@RequestParam(defaultValue = "0") long since,
+                                                 @RequestParam(defaultValue = "100") int limit) {
+        return employeeChangeFeed.getChanges(since, limit);
+    }
+
+    // A reconnecting EventSource sends Last-Event-ID, which takes precedence over since
+    @GetMapping(value = "changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(@RequestParam(required = false) Long since,
+                                    @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        return employeeChangeFeed.subscribe(lastEventId != null ? lastEventId : since);
+    }
+
     @GetMapping("{id}")
-    public ResponseEntity<Employee> getEmployeeId(@PathVariable long id){
+    public ResponseEntity<Employee> getEmployeeId(@PathVariable long id,
+                                                  @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch){
         return employeeService.getEmployeeById(id)
-                .map(ResponseEntity::ok)
+                .map(employee -> {
+                    String eTag = eTag(employee);
+                    // The cache holds the version, so an unchanged employee costs neither a query nor serialization
+                    if (ifNoneMatch != null && matchesAny(ifNoneMatch, eTag)) {
+                        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).<Employee>build();
+                    }
+                    return ResponseEntity.ok().eTag(eTag).body(employee);
+                })
                 .orElseGet(()->ResponseEntity.notFound().build());
     }
 
     @PutMapping("{id}")
-    public ResponseEntity<Employee> updateEmployee(@PathVariable Long id, @RequestBody Employee employee) {
-        return new ResponseEntity<>( employeeService.updateEmployee(id, employee), HttpStatus.OK);
+    public ResponseEntity<Employee> updateEmployee(@PathVariable Long id, @RequestBody Employee employee,
+                                                   @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Employee updatedEmployee = employeeService.updateEmployee(id, employee, expectedVersion(ifMatch));
+        return ResponseEntity.ok().eTag(eTag(updatedEmployee)).body(updatedEmployee);
     }
 
     @DeleteMapping("{id}")
-    public ResponseEntity<Employee> deleteEmployee(@PathVariable Long id){
-        return new ResponseEntity<>(employeeService.deleteEmployee(id), HttpStatus.OK);
+    public ResponseEntity<Employee> deleteEmployee(@PathVariable Long id,
+                                                   @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch){
+        return new ResponseEntity<>(employeeService.deleteEmployee(id, expectedVersion(ifMatch)), HttpStatus.OK);
     }
 }
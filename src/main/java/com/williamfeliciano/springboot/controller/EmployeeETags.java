@@ -0,0 +1,45 @@
+package com.williamfeliciano.springboot.controller;
+
+import com.williamfeliciano.springboot.exception.PreconditionFailedException;
+import com.williamfeliciano.springboot.model.Employee;
+
+/**
+ * ETags of the employee endpoints, the quoted version, shared by the servlet and reactive
+ * controllers.
+ */
+final class EmployeeETags {
+
+    private EmployeeETags() {
+    }
+
+    static String eTag(Employee employee) {
+        return "\"" + employee.getVersion() + "\"";
+    }
+
+    // If-None-Match uses the weak comparison, so W/ prefixes are ignored
+    static boolean matchesAny(String ifNoneMatch, String eTag) {
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || tag.equals(eTag) || tag.equals("W/" + eTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // If-Match uses the strong comparison against the single version a client read
+    static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.length() > 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            try {
+                return Long.valueOf(tag.substring(1, tag.length() - 1));
+            } catch (NumberFormatException e) {
+                // Not one of our ETags, so it cannot match
+            }
+        }
+        throw new PreconditionFailedException("If-Match does not name a current employee version");
+    }
+}
@@ -0,0 +1,49 @@
+package com.williamfeliciano.springboot.controller;
+
+import com.williamfeliciano.springboot.dto.IngestStatus;
+import com.williamfeliciano.springboot.model.Employee;
+import com.williamfeliciano.springboot.service.EmployeeIngestQueue;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.net.URI;
+
+/**
+ * Asynchronous creates: {@code POST} answers 202 with a tracking id as soon as the
+ * employee is queued, and the Location header points at its status.
+ */
+@RestController
+@RequestMapping("/api/employees/ingest")
+@RequiredArgsConstructor
+@Profile("!reactive")
+@ConditionalOnProperty(prefix = "employee.ingest", name = "enabled", havingValue = "true")
+public class EmployeeIngestController {
+
+    private final EmployeeIngestQueue employeeIngestQueue;
+
+    @PostMapping
+    public ResponseEntity<IngestStatus> ingestEmployee(@RequestBody Employee employee) {
+        IngestStatus status = employeeIngestQueue.submit(employee);
+        URI location = ServletUriComponentsBuilder.fromCurrentRequest()
+                .path("/{trackingId}")
+                .buildAndExpand(status.getTrackingId())
+                .toUri();
+        return ResponseEntity.accepted().location(location).body(status);
+    }
+
+    @GetMapping("{trackingId}")
+    public ResponseEntity<IngestStatus> getIngestStatus(@PathVariable String trackingId) {
+        return employeeIngestQueue.getStatus(trackingId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+}
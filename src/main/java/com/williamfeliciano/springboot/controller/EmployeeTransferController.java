@@ -0,0 +1,139 @@
+package com.williamfeliciano.springboot.controller;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.williamfeliciano.springboot.codec.EmployeeCsvReader;
+import com.williamfeliciano.springboot.codec.EmployeeCsvWriter;
+import com.williamfeliciano.springboot.codec.EmployeeNdjsonWriter;
+import com.williamfeliciano.springboot.dto.ImportResult;
+import com.williamfeliciano.springboot.model.Employee;
+import com.williamfeliciano.springboot.service.EmployeeImporter;
+import com.williamfeliciano.springboot.service.EmployeeService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Bulk import and export of employees as CSV or NDJSON. Both directions stream between
+ * the HTTP body and the database; request bodies may be gzip encoded, and responses are
+ * compressed by the server when the client accepts it.
+ */
+@RestController
+@RequestMapping("/api/employees")
+@RequiredArgsConstructor
+@Profile("!reactive")
+public class EmployeeTransferController {
+
+    public static final String TEXT_CSV_VALUE = "text/csv";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final EmployeeService employeeService;
+
+    private final EmployeeImporter employeeImporter;
+
+    private final ObjectMapper objectMapper;
+
+    @PostMapping(value = "import", consumes = TEXT_CSV_VALUE)
+    public ImportResult importCsv(InputStream body,
+                                  @RequestHeader(value = HttpHeaders.CONTENT_ENCODING, required = false) String contentEncoding)
+            throws IOException {
+        try (EmployeeCsvReader employees = new EmployeeCsvReader(new BufferedReader(
+                new InputStreamReader(decode(body, contentEncoding), StandardCharsets.UTF_8), BUFFER_SIZE))) {
+            return importEmployees(employees);
+        }
+    }
+
+    @PostMapping(value = "import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ImportResult importNdjson(InputStream body,
+                                     @RequestHeader(value = HttpHeaders.CONTENT_ENCODING, required = false) String contentEncoding)
+            throws IOException {
+        try (MappingIterator<Employee> employees = objectMapper.readerFor(Employee.class)
+                .readValues(decode(body, contentEncoding))) {
+            return importEmployees(employees);
+        }
+    }
+
+    @GetMapping("export")
+    public ResponseEntity<StreamingResponseBody> exportEmployees(@RequestParam(defaultValue = "ndjson") String format) {
+        StreamingResponseBody body;
+        MediaType contentType;
+        switch (format) {
+            case "csv" -> {
+                contentType = MediaType.parseMediaType(TEXT_CSV_VALUE);
+                body = outputStream -> {
+                    try (EmployeeCsvWriter writer = new EmployeeCsvWriter(outputStream)) {
+                        employeeService.streamEmployees(employee -> {
+                            try {
+                                writer.write(employee);
+                            } catch (IOException e) {
+                                throw new UncheckedIOException(e);
+                            }
+                        });
+                    }
+                };
+            }
+            case "ndjson" -> {
+                contentType = MediaType.APPLICATION_NDJSON;
+                body = outputStream -> {
+                    try (EmployeeNdjsonWriter writer = new EmployeeNdjsonWriter(objectMapper, outputStream)) {
+                        employeeService.streamEmployees(employee -> {
+                            try {
+                                writer.write(employee);
+                            } catch (IOException e) {
+                                throw new UncheckedIOException(e);
+                            }
+                        });
+                    }
+                };
+            }
+            default -> throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "format must be csv or ndjson");
+        }
+        return ResponseEntity.ok()
+                .contentType(contentType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("employees." + format)
+                        .build()
+                        .toString())
+                .body(body);
+    }
+
+    private ImportResult importEmployees(Iterator<Employee> employees) {
+        try {
+            return employeeImporter.importEmployees(employees);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+    }
+
+    private static InputStream decode(InputStream body, String contentEncoding) throws IOException {
+        if (contentEncoding == null || contentEncoding.equalsIgnoreCase("identity")) {
+            return body;
+        }
+        if (contentEncoding.equalsIgnoreCase("gzip")) {
+            return new GZIPInputStream(body, BUFFER_SIZE);
+        }
+        throw new ResponseStatusException(HttpStatus.UNSUPPORTED_MEDIA_TYPE, "Unsupported Content-Encoding " + contentEncoding);
+    }
+}
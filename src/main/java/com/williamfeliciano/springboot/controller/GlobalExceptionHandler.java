@@ -0,0 +1,52 @@
+package com.williamfeliciano.springboot.controller;
+
+import com.williamfeliciano.springboot.dto.ApiError;
+import com.williamfeliciano.springboot.exception.PreconditionFailedException;
+import com.williamfeliciano.springboot.exception.ResourceConflictException;
+import com.williamfeliciano.springboot.exception.ResourceNotFoundException;
+import com.williamfeliciano.springboot.exception.ServiceUnavailableException;
+import com.williamfeliciano.springboot.exception.StacklessException;
+import com.williamfeliciano.springboot.exception.TooManyRequestsException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * Turns the expected outcomes the service and the rate limiter throw into their status and
+ * an {@link ApiError} body, without logging them. Without it they go through the container's
+ * error handling, which logs not-found and forwards to /error for every miss. Headers set
+ * before the exception, such as the rate limiter's Retry-After, are kept.
+ */
+@RestControllerAdvice
+public class GlobalExceptionHandler {
+
+    @ExceptionHandler(ResourceNotFoundException.class)
+    public ResponseEntity<ApiError> handleNotFound(ResourceNotFoundException e) {
+        return error(HttpStatus.NOT_FOUND, e);
+    }
+
+    @ExceptionHandler(ResourceConflictException.class)
+    public ResponseEntity<ApiError> handleConflict(ResourceConflictException e) {
+        return error(HttpStatus.CONFLICT, e);
+    }
+
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<ApiError> handlePreconditionFailed(PreconditionFailedException e) {
+        return error(HttpStatus.PRECONDITION_FAILED, e);
+    }
+
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<ApiError> handleTooManyRequests(TooManyRequestsException e) {
+        return error(HttpStatus.TOO_MANY_REQUESTS, e);
+    }
+
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<ApiError> handleServiceUnavailable(ServiceUnavailableException e) {
+        return error(HttpStatus.SERVICE_UNAVAILABLE, e);
+    }
+
+    private static ResponseEntity<ApiError> error(HttpStatus status, StacklessException e) {
+        return ResponseEntity.status(status).body(new ApiError(status.value(), e.getMessage()));
+    }
+}
@@ -0,0 +1,86 @@
+package com.williamfeliciano.springboot.controller;
+
+import com.williamfeliciano.springboot.dto.CursorPage;
+import com.williamfeliciano.springboot.model.Employee;
+import com.williamfeliciano.springboot.service.ReactiveEmployeeService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import static com.williamfeliciano.springboot.controller.EmployeeETags.eTag;
+import static com.williamfeliciano.springboot.controller.EmployeeETags.expectedVersion;
+import static com.williamfeliciano.springboot.controller.EmployeeETags.matchesAny;
+
+/**
+ * Same contract as {@link EmployeeController} on WebFlux, including the version ETags and
+ * If-Match. The list endpoint streams rows
+ * as the client reads them, as a JSON array or as NDJSON.
+ */
+@RestController
+@RequestMapping("/api/employees")
+@RequiredArgsConstructor
+@Profile("reactive")
+public class ReactiveEmployeeController {
+
+    private final ReactiveEmployeeService employeeService;
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public Mono<Employee> createEmployee(@RequestBody Employee employee) {
+        return employeeService.saveEmployee(employee);
+    }
+
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<Employee> getAllEmployees() {
+        return employeeService.getAllEmployees();
+    }
+
+    @GetMapping(params = "limit")
+    public Mono<CursorPage<Employee>> getEmployeesPage(@RequestParam(required = false) Long after,
+                                                       @RequestParam int limit) {
+        return employeeService.getEmployeesPage(after, limit);
+    }
+
+    @GetMapping("{id}")
+    public Mono<ResponseEntity<Employee>> getEmployeeId(@PathVariable long id,
+                                                        @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return employeeService.getEmployeeById(id)
+                .map(employee -> {
+                    String eTag = eTag(employee);
+                    if (ifNoneMatch != null && matchesAny(ifNoneMatch, eTag)) {
+                        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).<Employee>build();
+                    }
+                    return ResponseEntity.ok().eTag(eTag).body(employee);
+                })
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @PutMapping("{id}")
+    public Mono<ResponseEntity<Employee>> updateEmployee(@PathVariable Long id, @RequestBody Employee employee,
+                                                         @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return employeeService.updateEmployee(id, employee, expectedVersion(ifMatch))
+                .map(updatedEmployee -> ResponseEntity.ok().eTag(eTag(updatedEmployee)).body(updatedEmployee));
+    }
+
+    @DeleteMapping("{id}")
+    public Mono<ResponseEntity<Employee>> deleteEmployee(@PathVariable Long id,
+                                                         @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return employeeService.deleteEmployee(id, expectedVersion(ifMatch)).map(ResponseEntity::ok);
+    }
+}
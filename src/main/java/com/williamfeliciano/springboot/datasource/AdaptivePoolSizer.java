@@ -0,0 +1,148 @@
+package com.williamfeliciano.springboot.datasource;
+
+import com.zaxxer.hikari.HikariConfigMXBean;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resizes a Hikari pool between {@code minSize} and {@code maxSize} from how long threads
+ * waited for a connection, as recorded by the pool's {@code hikaricp.connections.acquire}
+ * timer. Every interval, a mean wait above {@code targetWait} grows the pool by a quarter,
+ * at least one connection. After {@code shrinkAfter} intervals in a row with the mean wait
+ * under a tenth of the target and no thread waiting, the pool gives back one connection.
+ * The pool stays fixed size in between, its minimum idle equal to its maximum.
+ */
+@Slf4j
+public class AdaptivePoolSizer implements InitializingBean, DisposableBean {
+
+    public static final String ACQUIRE_TIMER = "hikaricp.connections.acquire";
+
+    private static final double GROWTH_RATIO = 0.25;
+
+    private static final int QUIET_WAIT_DIVISOR = 10;
+
+    private final HikariDataSource dataSource;
+
+    private final MeterRegistry meterRegistry;
+
+    private final int minSize;
+
+    private final int maxSize;
+
+    private final long targetWaitNanos;
+
+    private final Duration interval;
+
+    private final int shrinkAfter;
+
+    // Only touched by resize(), which runs on one thread
+    private long lastCount;
+
+    private double lastTotalNanos;
+
+    private int quietIntervals;
+
+    private ScheduledExecutorService scheduler;
+
+    public AdaptivePoolSizer(HikariDataSource dataSource, MeterRegistry meterRegistry, int minSize, int maxSize,
+                             Duration targetWait, Duration interval, int shrinkAfter) {
+        if (minSize < 1 || maxSize < minSize || shrinkAfter < 1) {
+            throw new IllegalArgumentException("Need 1 <= minSize <= maxSize and shrinkAfter >= 1");
+        }
+        this.dataSource = dataSource;
+        this.meterRegistry = meterRegistry;
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.targetWaitNanos = targetWait.toNanos();
+        this.interval = interval;
+        this.shrinkAfter = shrinkAfter;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        setPoolSize(Math.min(maxSize, Math.max(minSize, getPoolSize())));
+        if (!interval.isZero() && !interval.isNegative()) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "adaptive-pool-sizer");
+                thread.setDaemon(true);
+                return thread;
+            });
+            long intervalMillis = interval.toMillis();
+            scheduler.scheduleWithFixedDelay(this::resize, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Looks at the waits since the previous call and grows or shrinks the pool by a step.
+     */
+    public void resize() {
+        Timer acquireTimer = meterRegistry.find(ACQUIRE_TIMER).tag("pool", dataSource.getPoolName()).timer();
+        if (acquireTimer == null) {
+            // The pool has not been bound to the registry yet
+            return;
+        }
+        long count = acquireTimer.count();
+        double totalNanos = acquireTimer.totalTime(TimeUnit.NANOSECONDS);
+        double meanWaitNanos = count > lastCount ? (totalNanos - lastTotalNanos) / (count - lastCount) : 0;
+        lastCount = count;
+        lastTotalNanos = totalNanos;
+
+        int size = getPoolSize();
+        if (meanWaitNanos > targetWaitNanos) {
+            quietIntervals = 0;
+            if (size < maxSize) {
+                int grown = Math.min(maxSize, size + Math.max(1, (int) (size * GROWTH_RATIO)));
+                log.info("Growing pool {} from {} to {} connections, mean wait {} ms", dataSource.getPoolName(),
+                        size, grown, Math.round(meanWaitNanos / 1_000_000));
+                setPoolSize(grown);
+            }
+        } else if (meanWaitNanos * QUIET_WAIT_DIVISOR < targetWaitNanos && threadsAwaitingConnection() == 0) {
+            if (++quietIntervals >= shrinkAfter && size > minSize) {
+                quietIntervals = 0;
+                log.info("Shrinking pool {} from {} to {} connections", dataSource.getPoolName(), size, size - 1);
+                setPoolSize(size - 1);
+            }
+        } else {
+            quietIntervals = 0;
+        }
+    }
+
+    public int getPoolSize() {
+        return dataSource.getHikariConfigMXBean().getMaximumPoolSize();
+    }
+
+    @Override
+    public void destroy() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    private void setPoolSize(int size) {
+        HikariConfigMXBean config = dataSource.getHikariConfigMXBean();
+        // Keep minimum idle at or below the maximum in between the two calls
+        if (size < config.getMaximumPoolSize()) {
+            config.setMinimumIdle(size);
+            config.setMaximumPoolSize(size);
+        } else {
+            config.setMaximumPoolSize(size);
+            config.setMinimumIdle(size);
+        }
+    }
+
+    private int threadsAwaitingConnection() {
+        HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+        // Null until the pool hands out its first connection
+        return pool == null ? 0 : pool.getThreadsAwaitingConnection();
+    }
+}
@@ -0,0 +1,74 @@
+package com.williamfeliciano.springboot.datasource;
+
+import java.util.function.Supplier;
+
+/**
+ * Per-thread read-your-writes state for {@link ReplicaRoutingDataSource}. While a session
+ * is open, a committed write pins the rest of it to the primary and notifies the session's
+ * listener, so the caller can carry the pin over to the client's following requests.
+ * Without an open session, as on background threads, reads are never pinned.
+ * {@link #onPrimary} pins reads that must never see a replica behind the primary,
+ * whatever the session says.
+ */
+public final class ReplicaRoutingContext {
+
+    private static final ThreadLocal<Session> SESSION = new ThreadLocal<>();
+
+    private static final ThreadLocal<Boolean> PRIMARY_ONLY = new ThreadLocal<>();
+
+    private ReplicaRoutingContext() {
+    }
+
+    public static void open(boolean pinnedToPrimary, Runnable onWriteCommitted) {
+        SESSION.set(new Session(pinnedToPrimary, onWriteCommitted));
+    }
+
+    public static void close() {
+        SESSION.remove();
+    }
+
+    public static boolean isPinnedToPrimary() {
+        if (PRIMARY_ONLY.get() != null) {
+            return true;
+        }
+        Session session = SESSION.get();
+        return session != null && session.pinnedToPrimary;
+    }
+
+    /**
+     * Runs {@code read} with reads on the primary. The read-only flag is only checked on a
+     * transaction's first statement, so this may also be called inside a transaction that
+     * has not run one yet.
+     */
+    public static <T> T onPrimary(Supplier<T> read) {
+        if (PRIMARY_ONLY.get() != null) {
+            return read.get();
+        }
+        PRIMARY_ONLY.set(Boolean.TRUE);
+        try {
+            return read.get();
+        } finally {
+            PRIMARY_ONLY.remove();
+        }
+    }
+
+    static void writeCommitted() {
+        Session session = SESSION.get();
+        if (session != null) {
+            session.pinnedToPrimary = true;
+            session.onWriteCommitted.run();
+        }
+    }
+
+    private static final class Session {
+
+        private boolean pinnedToPrimary;
+
+        private final Runnable onWriteCommitted;
+
+        private Session(boolean pinnedToPrimary, Runnable onWriteCommitted) {
+            this.pinnedToPrimary = pinnedToPrimary;
+            this.onWriteCommitted = onWriteCommitted;
+        }
+    }
+}
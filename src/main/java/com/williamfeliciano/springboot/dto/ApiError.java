@@ -0,0 +1,18 @@
+package com.williamfeliciano.springboot.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Body of an error response, e.g. {@code {"status":404,"message":"Employee not found"}}.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ApiError {
+
+    private int status;
+
+    private String message;
+}
@@ -0,0 +1,37 @@
+package com.williamfeliciano.springboot.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of one employee in a bulk create, identified by its position in the request.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class BatchItemResult {
+
+    public enum Status {
+        CREATED,
+        FAILED
+    }
+
+    private int index;
+
+    private Status status;
+
+    private Long id;
+
+    private String error;
+
+    public static BatchItemResult created(int index, Long id) {
+        return new BatchItemResult(index, Status.CREATED, id, null);
+    }
+
+    public static BatchItemResult failed(int index, String error) {
+        return new BatchItemResult(index, Status.FAILED, null, error);
+    }
+}
@@ -0,0 +1,22 @@
+package com.williamfeliciano.springboot.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class BatchResult {
+
+    private int created;
+
+    private int failed;
+
+    private List<BatchItemResult> items;
+
+}
@@ -0,0 +1,24 @@
+package com.williamfeliciano.springboot.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated listing. {@code nextCursor} is the value to pass as
+ * {@code after} to fetch the following page, or {@code null} when this is the last page.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class CursorPage<T> {
+
+    private List<T> content;
+
+    private Long nextCursor;
+
+}
@@ -0,0 +1,26 @@
+package com.williamfeliciano.springboot.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Summary of a bulk import. Only the first failures are listed, each identified by its
+ * 0-based record number in the imported file.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ImportResult {
+
+    private long created;
+
+    private long failed;
+
+    private List<BatchItemResult> errors;
+
+}
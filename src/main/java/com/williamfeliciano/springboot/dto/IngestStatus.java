@@ -0,0 +1,41 @@
+package com.williamfeliciano.springboot.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of an asynchronously submitted create. {@code employeeId} is set once the
+ * employee is created, {@code error} when it was rejected.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class IngestStatus {
+
+    public enum State {
+        QUEUED, CREATED, FAILED
+    }
+
+    private String trackingId;
+
+    private State state;
+
+    private Long employeeId;
+
+    private String error;
+
+    public static IngestStatus queued(String trackingId) {
+        return new IngestStatus(trackingId, State.QUEUED, null, null);
+    }
+
+    public static IngestStatus created(String trackingId, Long employeeId) {
+        return new IngestStatus(trackingId, State.CREATED, employeeId, null);
+    }
+
+    public static IngestStatus failed(String trackingId, String error) {
+        return new IngestStatus(trackingId, State.FAILED, null, error);
+    }
+}
@@ -1,6 +1,10 @@
 package com.williamfeliciano.springboot.exception;
 
-public class ResourceNotFoundException extends RuntimeException{
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.NOT_FOUND)
+public class ResourceNotFoundException extends StacklessException{
     public ResourceNotFoundException(String message) {
         super(message);
     }
@@ -0,0 +1,18 @@
+package com.williamfeliciano.springboot.exception;
+
+/**
+ * Base for exceptions that report an expected outcome, a missing employee, a taken email,
+ * a rejected request, rather than a bug. They are thrown on every miss or rejection and
+ * turned into a status by GlobalExceptionHandler, so nobody reads their stack trace:
+ * it is never filled in, which is most of the cost of creating an exception. A cause
+ * keeps its own stack trace.
+ */
+public abstract class StacklessException extends RuntimeException{
+    protected StacklessException(String message) {
+        super(message, null, false, false);
+    }
+
+    protected StacklessException(String message, Throwable cause) {
+        super(message, cause, false, false);
+    }
+}
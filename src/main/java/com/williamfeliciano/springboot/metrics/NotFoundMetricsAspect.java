@@ -0,0 +1,49 @@
+package com.williamfeliciano.springboot.metrics;
+
+import com.williamfeliciano.springboot.exception.ResourceNotFoundException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.annotation.AfterReturning;
+import org.aspectj.lang.annotation.AfterThrowing;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * Counts lookups of employees that don't exist as {@code employee.not_found}, tagged with
+ * the EmployeeService operation. That covers both a thrown ResourceNotFoundException and
+ * an empty result from {@code getEmployeeById}.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class NotFoundMetricsAspect {
+
+    public static final String METRIC_NAME = "employee.not_found";
+
+    private final MeterRegistry meterRegistry;
+
+    @AfterThrowing(pointcut = "execution(* com.williamfeliciano.springboot.service.EmployeeService.*(..))",
+            throwing = "exception")
+    public void countThrown(JoinPoint joinPoint, ResourceNotFoundException exception) {
+        increment(joinPoint);
+    }
+
+    @AfterReturning(pointcut = "execution(java.util.Optional com.williamfeliciano.springboot.service.EmployeeService.*(..))",
+            returning = "result")
+    public void countEmpty(JoinPoint joinPoint, Optional<?> result) {
+        if (result.isEmpty()) {
+            increment(joinPoint);
+        }
+    }
+
+    private void increment(JoinPoint joinPoint) {
+        Counter.builder(METRIC_NAME)
+                .tag("operation", joinPoint.getSignature().getName())
+                .register(meterRegistry)
+                .increment();
+    }
+}
@@ -0,0 +1,65 @@
+package com.williamfeliciano.springboot.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * A row of the {@code employee_changes} outbox, written in the same transaction as the
+ * employee mutation it describes. {@code seq} orders the feed and is what consumers
+ * resume from. It is handed out on insert, not on commit, so EmployeeChangeFeed only
+ * exposes a change once every change below it has committed or rolled back.
+ */
+@Getter
+@Setter
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Entity
+@Table(name = "employee_changes")
+public class EmployeeChange {
+
+    public enum Type {
+        CREATED, UPDATED, DELETED
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "employee_changes_seq")
+    @SequenceGenerator(name = "employee_changes_seq", sequenceName = "employee_changes_seq", allocationSize = 50)
+    private Long seq;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Type type;
+
+    @Column(name = "employee_id", nullable = false)
+    private Long employeeId;
+
+    // Snapshot of the employee after the change, so consumers don't have to fetch it
+    @Column(name = "first_name")
+    private String firstName;
+
+    @Column(name = "last_name")
+    private String lastName;
+
+    private String email;
+
+    private Long version;
+
+    @Column(name = "changed_at", nullable = false)
+    private Instant changedAt;
+
+    public static EmployeeChange of(Type type, Employee employee) {
+        return EmployeeChange.builder()
+                .type(type)
+                .employeeId(employee.getId())
+                .firstName(employee.getFirstName())
+                .lastName(employee.getLastName())
+                .email(employee.getEmail())
+                .version(employee.getVersion())
+                .changedAt(Instant.now())
+                .build();
+    }
+}
@@ -0,0 +1,44 @@
+package com.williamfeliciano.springboot.model;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Attributes of {@link Employee} a client can ask for with {@code ?fields=}.
+ */
+public enum EmployeeField {
+
+    ID("id"),
+    FIRST_NAME("firstName"),
+    LAST_NAME("lastName"),
+    EMAIL("email");
+
+    private final String attribute;
+
+    EmployeeField(String attribute) {
+        this.attribute = attribute;
+    }
+
+    public String getAttribute() {
+        return attribute;
+    }
+
+    /**
+     * Parses a comma separated list of attribute names such as {@code "firstName,email"}.
+     */
+    public static Set<EmployeeField> parse(String fields) {
+        Set<EmployeeField> parsed = EnumSet.noneOf(EmployeeField.class);
+        for (String name : fields.split(",")) {
+            String attribute = name.trim();
+            if (attribute.isEmpty()) {
+                continue;
+            }
+            parsed.add(Arrays.stream(values())
+                    .filter(field -> field.attribute.equals(attribute))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("Unknown employee field: " + attribute)));
+        }
+        return parsed;
+    }
+}
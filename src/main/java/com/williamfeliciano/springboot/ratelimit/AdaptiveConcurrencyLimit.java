@@ -0,0 +1,120 @@
+package com.williamfeliciano.springboot.ratelimit;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Caps the requests in flight, and moves the cap with the observed latency, judged
+ * {@value #WINDOW_SIZE} requests at a time. A window's latency is its median, so a minority
+ * of slow requests, such as cache misses among hits, doesn't move the cap. The baseline is
+ * the lowest window median seen, drifting upwards so that it follows lasting changes.
+ * <p>
+ * Only a window in which the cap was on average at least half used can change it. Then a
+ * median over {@code tolerance} times the baseline means requests are queueing, for
+ * instance for a pooled connection, and the cap shrinks by 10%; otherwise it grows by one.
+ * Slow windows with little in flight are slow requests, not queueing, and leave the cap
+ * alone.
+ */
+public class AdaptiveConcurrencyLimit {
+
+    static final int WINDOW_SIZE = 20;
+
+    private static final double BACKOFF_RATIO = 0.9;
+
+    private static final double BASELINE_DRIFT = 0.02;
+
+    private final int minLimit;
+
+    private final int maxLimit;
+
+    private final double tolerance;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private volatile double limit;
+
+    // Guarded by this
+    private double baselineNanos = Double.NaN;
+
+    private final long[] window = new long[WINDOW_SIZE];
+
+    private int windowCount;
+
+    private long windowInFlight;
+
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, double tolerance) {
+        if (minLimit < 1 || maxLimit < minLimit || tolerance <= 1) {
+            throw new IllegalArgumentException("Need 1 <= minLimit <= maxLimit and a tolerance above 1");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.limit = Math.min(maxLimit, Math.max(minLimit, initialLimit));
+    }
+
+    /**
+     * @return the number of requests in flight before this one, or -1 if the cap is reached
+     */
+    public int tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                return -1;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return current;
+            }
+        }
+    }
+
+    /**
+     * Ends a request admitted by {@link #tryAcquire()}.
+     *
+     * @param inFlightBefore what {@link #tryAcquire()} returned for it
+     */
+    public void release(long latencyNanos, int inFlightBefore) {
+        inFlight.decrementAndGet();
+        adjust(latencyNanos, inFlightBefore);
+    }
+
+    /**
+     * Ends a request admitted by {@link #tryAcquire()} that was turned away before running,
+     * without counting its latency.
+     */
+    public void cancel() {
+        inFlight.decrementAndGet();
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private synchronized void adjust(long latencyNanos, int inFlightBefore) {
+        double current = limit;
+        window[windowCount++] = latencyNanos;
+        windowInFlight += inFlightBefore + 1;
+        if (windowCount < WINDOW_SIZE) {
+            return;
+        }
+        Arrays.sort(window);
+        long median = window[WINDOW_SIZE / 2];
+        if (Double.isNaN(baselineNanos) || median < baselineNanos) {
+            baselineNanos = median;
+        } else {
+            baselineNanos += (median - baselineNanos) * BASELINE_DRIFT;
+        }
+        if (windowInFlight >= current / 2 * WINDOW_SIZE) {
+            if (median > baselineNanos * tolerance) {
+                limit = Math.max(minLimit, current * BACKOFF_RATIO);
+            } else {
+                limit = Math.min(maxLimit, current + 1);
+            }
+        }
+        windowCount = 0;
+        windowInFlight = 0;
+    }
+}
@@ -0,0 +1,53 @@
+package com.williamfeliciano.springboot.ratelimit;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntSupplier;
+
+/**
+ * Caps the requests in flight across all endpoints at a limit read on every acquire, so it
+ * follows a connection pool that is resized at runtime. When the limit drops below the
+ * requests in flight, new requests are refused until enough of them finish.
+ */
+public class GlobalConcurrencyLimit {
+
+    private final IntSupplier limit;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public GlobalConcurrencyLimit(IntSupplier limit) {
+        this.limit = limit;
+    }
+
+    /**
+     * One request per connection the pool may currently open.
+     */
+    public static GlobalConcurrencyLimit ofPool(HikariDataSource dataSource) {
+        return new GlobalConcurrencyLimit(() -> dataSource.getHikariConfigMXBean().getMaximumPoolSize());
+    }
+
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit.getAsInt()) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public void release() {
+        inFlight.decrementAndGet();
+    }
+
+    public int getLimit() {
+        return limit.getAsInt();
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
@@ -0,0 +1,174 @@
+package com.williamfeliciano.springboot.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.williamfeliciano.springboot.config.RateLimitProperties;
+import com.williamfeliciano.springboot.exception.ServiceUnavailableException;
+import com.williamfeliciano.springboot.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Rejects a client's requests with 429 once it exceeds its token bucket, and sheds
+ * requests to an endpoint with 503 while that endpoint's {@link AdaptiveConcurrencyLimit}
+ * or the {@link GlobalConcurrencyLimit} is reached, before they queue for a database
+ * connection. Both set Retry-After. The global limit follows the connection pool's current
+ * size and every endpoint's limit is a share of it, so all endpoints together never have
+ * more requests in flight than there are connections.
+ * <p>
+ * An async request, such as the NDJSON stream, keeps its place in the limit until its
+ * async dispatch completes. Event streams are only rate limited, since a subscriber stays
+ * connected without using a connection.
+ */
+public class RateLimitInterceptor implements AsyncHandlerInterceptor {
+
+    public static final String REJECTED_METRIC = "employee.requests.rejected";
+
+    // Endpoint tag of the global limit's gauges
+    static final String GLOBAL_ENDPOINT = "all";
+
+    private static final String PERMIT_ATTRIBUTE = RateLimitInterceptor.class.getName() + ".permit";
+
+    private final RateLimitProperties properties;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Cache<String, TokenBucket> buckets;
+
+    private final Map<String, AdaptiveConcurrencyLimit> limits = new ConcurrentHashMap<>();
+
+    private final GlobalConcurrencyLimit globalLimit;
+
+    public RateLimitInterceptor(RateLimitProperties properties, GlobalConcurrencyLimit globalLimit,
+                                MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.globalLimit = globalLimit;
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("employee.requests.concurrency.limit", globalLimit, GlobalConcurrencyLimit::getLimit)
+                .description("Requests an endpoint currently admits at once")
+                .tag("endpoint", GLOBAL_ENDPOINT)
+                .register(meterRegistry);
+        Gauge.builder("employee.requests.in_flight", globalLimit, GlobalConcurrencyLimit::getInFlight)
+                .tag("endpoint", GLOBAL_ENDPOINT)
+                .register(meterRegistry);
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxClients())
+                .expireAfterAccess(properties.getClientIdleTimeout())
+                .build();
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // The initial dispatch already admitted the request
+        if (request.getDispatcherType() == DispatcherType.ASYNC || !(handler instanceof HandlerMethod handlerMethod)) {
+            return true;
+        }
+        String endpoint = handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName();
+        String clientId = clientId(request);
+        long waitNanos = buckets.get(clientId, id -> new TokenBucket(properties.getRequestsPerSecond(),
+                properties.getBurst())).tryAcquire(System.nanoTime());
+        if (waitNanos > 0) {
+            reject(response, endpoint, "rate_limit", waitNanos);
+            throw new TooManyRequestsException("Rate limit exceeded for client " + clientId);
+        }
+        if (ResponseBodyEmitter.class.isAssignableFrom(handlerMethod.getReturnType().getParameterType())) {
+            return true;
+        }
+        AdaptiveConcurrencyLimit limit = limits.computeIfAbsent(endpoint, this::newLimit);
+        int inFlightBefore = limit.tryAcquire();
+        if (inFlightBefore < 0) {
+            reject(response, endpoint, "concurrency", TimeUnit.SECONDS.toNanos(1));
+            throw new ServiceUnavailableException("Too many concurrent requests to " + endpoint);
+        }
+        if (!globalLimit.tryAcquire()) {
+            limit.cancel();
+            reject(response, endpoint, "global_concurrency", TimeUnit.SECONDS.toNanos(1));
+            throw new ServiceUnavailableException("Too many concurrent requests");
+        }
+        request.setAttribute(PERMIT_ATTRIBUTE, new Permit(limit, inFlightBefore, globalLimit));
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        if (request.getAttribute(PERMIT_ATTRIBUTE) instanceof Permit permit) {
+            permit.release();
+        }
+    }
+
+    private String clientId(HttpServletRequest request) {
+        String header = properties.getClientIdHeader();
+        if (header != null) {
+            String clientId = request.getHeader(header);
+            if (clientId != null && !clientId.isBlank()) {
+                return clientId;
+            }
+        }
+        return request.getRemoteAddr();
+    }
+
+    private AdaptiveConcurrencyLimit newLimit(String endpoint) {
+        RateLimitProperties.Concurrency concurrency = properties.getConcurrency();
+        // Not capped at the global limit, which may grow while the endpoint's limit exists
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(concurrency.getInitialLimit(),
+                concurrency.getMinLimit(), concurrency.getMaxLimit(), concurrency.getLatencyTolerance());
+        Gauge.builder("employee.requests.concurrency.limit", limit, AdaptiveConcurrencyLimit::getLimit)
+                .description("Requests an endpoint currently admits at once")
+                .tag("endpoint", endpoint)
+                .register(meterRegistry);
+        Gauge.builder("employee.requests.in_flight", limit, AdaptiveConcurrencyLimit::getInFlight)
+                .tag("endpoint", endpoint)
+                .register(meterRegistry);
+        return limit;
+    }
+
+    private void reject(HttpServletResponse response, String endpoint, String reason, long waitNanos) {
+        Counter.builder(REJECTED_METRIC)
+                .tag("endpoint", endpoint)
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+        long seconds = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(seconds));
+    }
+
+    private static final class Permit {
+
+        private final AdaptiveConcurrencyLimit limit;
+
+        private final int inFlightBefore;
+
+        private final GlobalConcurrencyLimit globalLimit;
+
+        private final long startNanos = System.nanoTime();
+
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(AdaptiveConcurrencyLimit limit, int inFlightBefore, GlobalConcurrencyLimit globalLimit) {
+            this.limit = limit;
+            this.inFlightBefore = inFlightBefore;
+            this.globalLimit = globalLimit;
+        }
+
+        private void release() {
+            if (released.compareAndSet(false, true)) {
+                globalLimit.release();
+                limit.release(System.nanoTime() - startNanos, inFlightBefore);
+            }
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.williamfeliciano.springboot.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A token bucket that refills at a fixed rate up to a capacity, kept as the single time
+ * at which the bucket will be full again (the generic cell rate algorithm). Taking a token
+ * is one compare-and-set on that time, so concurrent requests of a client never block
+ * each other.
+ */
+public class TokenBucket {
+
+    private final long nanosPerToken;
+
+    private final long capacityNanos;
+
+    // When the bucket will be full again; anything earlier than now means it is full
+    private final AtomicLong fullAt = new AtomicLong(Long.MIN_VALUE);
+
+    public TokenBucket(double tokensPerSecond, int capacity) {
+        if (tokensPerSecond <= 0 || capacity < 1) {
+            throw new IllegalArgumentException("The rate and the capacity must be positive");
+        }
+        this.nanosPerToken = Math.max(1, (long) (1_000_000_000L / tokensPerSecond));
+        this.capacityNanos = nanosPerToken * capacity;
+    }
+
+    /**
+     * Takes a token if one is available at {@code nowNanos}, a {@link System#nanoTime()}
+     * reading.
+     *
+     * @return zero if a token was taken, otherwise the nanoseconds until one will be
+     */
+    public long tryAcquire(long nowNanos) {
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current, nowNanos) + nanosPerToken;
+            long wait = next - nowNanos - capacityNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+}
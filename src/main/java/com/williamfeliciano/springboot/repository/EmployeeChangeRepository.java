@@ -0,0 +1,20 @@
+package com.williamfeliciano.springboot.repository;
+
+import com.williamfeliciano.springboot.model.EmployeeChange;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.util.List;
+
+public interface EmployeeChangeRepository extends JpaRepository<EmployeeChange, Long> {
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<EmployeeChange> findBySeqGreaterThanAndSeqLessThanEqualOrderBySeqAsc(Long since, Long upTo, Pageable pageable);
+
+    @Query("select coalesce(max(c.seq), 0) from EmployeeChange c")
+    long findLatestSeq();
+}
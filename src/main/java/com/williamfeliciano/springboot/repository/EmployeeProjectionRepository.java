@@ -0,0 +1,17 @@
+package com.williamfeliciano.springboot.repository;
+
+import com.williamfeliciano.springboot.model.EmployeeField;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public interface EmployeeProjectionRepository {
+
+    /**
+     * Reads only the requested columns of employees with an id greater than {@code after},
+     * in id order, without materializing entities. Each row maps attribute name to value
+     * and always contains the id.
+     */
+    List<Map<String, Object>> findFieldsByIdGreaterThan(Set<EmployeeField> fields, Long after, int limit);
+}
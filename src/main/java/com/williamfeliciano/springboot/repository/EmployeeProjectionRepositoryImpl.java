@@ -0,0 +1,58 @@
+package com.williamfeliciano.springboot.repository;
+
+import com.williamfeliciano.springboot.model.Employee;
+import com.williamfeliciano.springboot.model.EmployeeField;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@RequiredArgsConstructor
+public class EmployeeProjectionRepositoryImpl implements EmployeeProjectionRepository {
+
+    private final EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> findFieldsByIdGreaterThan(Set<EmployeeField> fields, Long after, int limit) {
+        Set<EmployeeField> selected = EnumSet.of(EmployeeField.ID);
+        selected.addAll(fields);
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Employee> employee = query.from(Employee.class);
+        List<Selection<?>> selections = new ArrayList<>(selected.size());
+        for (EmployeeField field : selected) {
+            selections.add(employee.get(field.getAttribute()).alias(field.getAttribute()));
+        }
+        query.multiselect(selections)
+                .where(cb.greaterThan(employee.get("id"), after))
+                .orderBy(cb.asc(employee.get("id")));
+
+        List<Tuple> tuples = entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .setMaxResults(limit)
+                .getResultList();
+        List<Map<String, Object>> rows = new ArrayList<>(tuples.size());
+        for (Tuple tuple : tuples) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (EmployeeField field : selected) {
+                row.put(field.getAttribute(), tuple.get(field.getAttribute()));
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+}
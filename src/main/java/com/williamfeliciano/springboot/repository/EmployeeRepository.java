@@ -2,10 +2,66 @@ package com.williamfeliciano.springboot.repository;
 
 import com.williamfeliciano.springboot.model.Employee;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
-public interface EmployeeRepository extends JpaRepository<Employee, Long> {
+public interface EmployeeRepository extends JpaRepository<Employee, Long>, EmployeeProjectionRepository {
+
+    int STREAM_FETCH_SIZE = 500;
+
+    String EMAIL_CACHE_REGION = "employees-by-email";
+
+    // List reads only serialize the entities, so skip Hibernate's dirty-checking snapshots
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<Employee> findAll();
+
+    // Results are dropped from the query cache whenever the employees table changes
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = EMAIL_CACHE_REGION)
+    })
     Optional<Employee> findByEmail(String email);
+
+    @Query("select e.email from Employee e where e.email in :emails")
+    Set<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<Employee> findByIdGreaterThanOrderByIdAsc(Long after, Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<Employee> findByIdLessThanOrderByIdDesc(Long before, Pageable pageable);
+
+    // Prefix searches are ordered by the searched column so the index serves both the
+    // range and the sort
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    Slice<Employee> findByLastNameStartingWithOrderByLastNameAscIdAsc(String lastName, Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    Slice<Employee> findByEmailStartingWithOrderByEmailAsc(String email, Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    Slice<Employee> findByLastNameStartingWithAndEmailStartingWithOrderByLastNameAscIdAsc(
+            String lastName, String email, Pageable pageable);
+
+    // Must be consumed inside a transaction and closed by the caller. A full scan would only
+    // push the frequently read employees out of the second-level cache, so it bypasses it
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE")
+    })
+    Stream<Employee> streamAllByOrderByIdAsc();
 }
@@ -0,0 +1,120 @@
+package com.williamfeliciano.springboot.repository;
+
+import com.williamfeliciano.springboot.model.Employee;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Readable;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking access to the {@code employees} table for the reactive profile, the
+ * R2DBC counterpart of {@link EmployeeRepository}.
+ */
+@Repository
+@Profile("reactive")
+public class ReactiveEmployeeRepository {
+
+    private static final String SELECT_EMPLOYEE_COLUMNS = "select id, first_name, last_name, email, version";
+
+    private static final String SELECT_EMPLOYEE = SELECT_EMPLOYEE_COLUMNS + " from employees";
+
+    private final DatabaseClient databaseClient;
+
+    public ReactiveEmployeeRepository(ConnectionFactory connectionFactory) {
+        this.databaseClient = DatabaseClient.create(connectionFactory);
+    }
+
+    public Flux<Employee> findAll() {
+        return databaseClient.sql(SELECT_EMPLOYEE + " order by id")
+                .map(ReactiveEmployeeRepository::toEmployee)
+                .all();
+    }
+
+    public Flux<Employee> findByIdGreaterThan(long after, int limit) {
+        return databaseClient.sql(SELECT_EMPLOYEE + " where id > :after order by id limit :limit")
+                .bind("after", after)
+                .bind("limit", limit)
+                .map(ReactiveEmployeeRepository::toEmployee)
+                .all();
+    }
+
+    public Mono<Employee> findById(long id) {
+        return databaseClient.sql(SELECT_EMPLOYEE + " where id = :id")
+                .bind("id", id)
+                .map(ReactiveEmployeeRepository::toEmployee)
+                .one();
+    }
+
+    public Mono<Employee> insert(Employee employee) {
+        // With the pooled-lo optimizer a sequence value is the start of a block Hibernate
+        // never hands out itself, so it is safe to use as the id directly
+        return databaseClient.sql("select next value for employees_seq")
+                .map(row -> row.get(0, Long.class))
+                .one()
+                .flatMap(id -> databaseClient.sql("insert into employees (id, first_name, last_name, email, version) "
+                                + "values (:id, :firstName, :lastName, :email, 0)")
+                        .bind("id", id)
+                        .bind("firstName", employee.getFirstName())
+                        .bind("lastName", employee.getLastName())
+                        .bind("email", employee.getEmail())
+                        .fetch()
+                        .rowsUpdated()
+                        .thenReturn(Employee.builder()
+                                .id(id)
+                                .firstName(employee.getFirstName())
+                                .lastName(employee.getLastName())
+                                .email(employee.getEmail())
+                                .version(0L)
+                                .build()));
+    }
+
+    /**
+     * Updates the employee if it is still at {@code expectedVersion}, or whatever its version
+     * when {@code expectedVersion} is null, and returns the stored row. Empty when no row
+     * matched.
+     */
+    public Mono<Employee> update(long id, Employee employee, Long expectedVersion) {
+        // H2 has no UPDATE ... RETURNING; its data change delta table reads back the updated
+        // row in the same statement
+        String condition = expectedVersion != null ? "id = :id and version = :version" : "id = :id";
+        DatabaseClient.GenericExecuteSpec update = databaseClient.sql(SELECT_EMPLOYEE_COLUMNS + " from final table ("
+                        + "update employees set first_name = :firstName, last_name = :lastName, email = :email, "
+                        + "version = version + 1 where " + condition + ")")
+                .bind("id", id)
+                .bind("firstName", employee.getFirstName())
+                .bind("lastName", employee.getLastName())
+                .bind("email", employee.getEmail());
+        if (expectedVersion != null) {
+            update = update.bind("version", expectedVersion);
+        }
+        return update.map(ReactiveEmployeeRepository::toEmployee).one();
+    }
+
+    public Mono<Long> deleteById(long id) {
+        return databaseClient.sql("delete from employees where id = :id")
+                .bind("id", id)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    public Mono<Long> deleteByIdAndVersion(long id, long version) {
+        return databaseClient.sql("delete from employees where id = :id and version = :version")
+                .bind("id", id)
+                .bind("version", version)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    private static Employee toEmployee(Readable row) {
+        return Employee.builder()
+                .id(row.get("id", Long.class))
+                .firstName(row.get("first_name", String.class))
+                .lastName(row.get("last_name", String.class))
+                .email(row.get("email", String.class))
+                .version(row.get("version", Long.class))
+                .build();
+    }
+}
@@ -0,0 +1,106 @@
+package com.williamfeliciano.springboot.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.williamfeliciano.springboot.config.EmployeeCacheProperties;
+import com.williamfeliciano.springboot.model.Employee;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+/**
+ * In-process cache of employees by id. Missing ids are cached as {@link Optional#empty()}
+ * so repeated lookups of unknown ids don't reach the database.
+ * <p>
+ * Loads run on the calling thread but outside of the cache's internal locks, so a slow
+ * query neither blocks lookups of other ids nor pins a virtual thread. A write that lands
+ * while a load is in flight replaces the pending entry and wins.
+ */
+@Component
+public class EmployeeCache implements MeterBinder {
+
+    private final AsyncCache<Long, Optional<Employee>> cache;
+
+    public EmployeeCache(EmployeeCacheProperties properties) {
+        long ttlNanos = properties.getTtl().toNanos();
+        long negativeTtlNanos = properties.getNegativeTtl().toNanos();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfter(new Expiry<Long, Optional<Employee>>() {
+                    @Override
+                    public long expireAfterCreate(Long id, Optional<Employee> employee, long currentTime) {
+                        return employee.isPresent() ? ttlNanos : negativeTtlNanos;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(Long id, Optional<Employee> employee, long currentTime,
+                                                  long currentDuration) {
+                        return expireAfterCreate(id, employee, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(Long id, Optional<Employee> employee, long currentTime,
+                                                long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .buildAsync();
+    }
+
+    public Optional<Employee> get(Long id, Function<Long, Optional<Employee>> loader) {
+        CompletableFuture<Optional<Employee>> pending = new CompletableFuture<>();
+        CompletableFuture<Optional<Employee>> cached = cache.get(id, (key, executor) -> pending);
+        if (cached == pending) {
+            try {
+                pending.complete(loader.apply(id));
+            } catch (RuntimeException e) {
+                // Failed loads are dropped from the cache by Caffeine
+                pending.completeExceptionally(e);
+                throw e;
+            }
+        }
+        try {
+            return cached.join();
+        } catch (CompletionException e) {
+            // Another caller's load for the same id failed
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    public void put(Employee employee) {
+        cache.put(employee.getId(), CompletableFuture.completedFuture(Optional.of(employee)));
+    }
+
+    /**
+     * Caches the employee unless the id already has an entry, which is at least as recent.
+     */
+    public void putIfAbsent(Employee employee) {
+        cache.asMap().putIfAbsent(employee.getId(), CompletableFuture.completedFuture(Optional.of(employee)));
+    }
+
+    public void markMissing(Long id) {
+        cache.put(id, CompletableFuture.completedFuture(Optional.empty()));
+    }
+
+    public void invalidateAll() {
+        cache.synchronous().invalidateAll();
+    }
+
+    public CacheStats stats() {
+        return cache.synchronous().stats();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "employees");
+    }
+}
@@ -0,0 +1,59 @@
+package com.williamfeliciano.springboot.service;
+
+import com.williamfeliciano.springboot.config.EmployeeCacheProperties;
+import com.williamfeliciano.springboot.model.Employee;
+import com.williamfeliciano.springboot.repository.EmployeeRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loads the newest {@code employee.cache.warm-up-size} employees into {@link EmployeeCache},
+ * and with them into Hibernate's second-level cache, before the application reports ready.
+ * After a restart on a persistent database, the first lookups then don't all go to disk.
+ * Newest first, as recently added employees are the ones looked up most. Requests are
+ * already being served while it runs, so it never replaces an entry: an update or delete
+ * that committed after a page was read has put a more recent one.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EmployeeCacheWarmer implements ApplicationRunner {
+
+    private static final int PAGE_SIZE = 1000;
+
+    private final EmployeeRepository employeeRepository;
+
+    private final EmployeeCache employeeCache;
+
+    private final EmployeeCacheProperties properties;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long size = Math.min(properties.getWarmUpSize(), properties.getMaximumSize());
+        if (size <= 0) {
+            return;
+        }
+        long start = System.nanoTime();
+        long before = Long.MAX_VALUE;
+        int loaded = 0;
+        while (loaded < size) {
+            List<Employee> page = employeeRepository.findByIdLessThanOrderByIdDesc(
+                    before, PageRequest.ofSize((int) Math.min(PAGE_SIZE, size - loaded)));
+            if (page.isEmpty()) {
+                break;
+            }
+            page.forEach(employeeCache::putIfAbsent);
+            loaded += page.size();
+            before = page.get(page.size() - 1).getId();
+        }
+        log.info("Warmed the employee cache with {} employees in {} ms", loaded,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+}
@@ -0,0 +1,296 @@
+package com.williamfeliciano.springboot.service;
+
+import com.williamfeliciano.springboot.datasource.ReplicaRoutingContext;
+import com.williamfeliciano.springboot.dto.CursorPage;
+import com.williamfeliciano.springboot.model.EmployeeChange;
+import com.williamfeliciano.springboot.repository.EmployeeChangeRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Writes and serves the {@code employee_changes} outbox, both as pages and as server-sent
+ * events.
+ * <p>
+ * Sequence numbers are handed out on insert, so with concurrent writers a change can
+ * commit after one with a higher number. A consumer resuming after that higher number
+ * would never see it, so the feed only exposes changes up to its watermark: the number
+ * below the lowest change still in flight, that is recorded but not yet committed or rolled
+ * back. Changes are recorded here, which hands out their numbers and marks them in flight
+ * under one lock, so the watermark also covers numbers about to be handed out. Only the
+ * numbering is serialized: the rows are inserted when the writer's transaction flushes.
+ * That bookkeeping is per process: the feed expects to be the only writer of the outbox.
+ * <p>
+ * Subscribers first get the changes after their resume point from the database, then live
+ * changes as the watermark passes them, in sequence order. Each subscriber has its own
+ * queue, drained on a thread of its own while it has events to send, so a slow client only
+ * holds up itself. A subscriber more than {@value #QUEUE_CAPACITY} changes behind has its
+ * queue dropped and catches up from the table instead.
+ * <p>
+ * The watermark describes the primary, so the feed is always read from it: a lagging
+ * replica can hold a change without the ones below it, and a consumer paging past that
+ * change would never see them.
+ */
+@Component
+@RequiredArgsConstructor
+public class EmployeeChangeFeed {
+
+    static final Duration SSE_TIMEOUT = Duration.ofMinutes(30);
+
+    static final int QUEUE_CAPACITY = 1000;
+
+    private static final int REPLAY_CHUNK_SIZE = 500;
+
+    private final EmployeeChangeRepository employeeChangeRepository;
+
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+
+    private final ExecutorService senders = Executors.newCachedThreadPool(task -> {
+        Thread thread = new Thread(task, "employee-change-feed");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final ReentrantLock numbering = new ReentrantLock();
+
+    // Guarded by this: recorded changes not yet committed or rolled back, committed
+    // changes above the watermark, and the last change handed to subscribers
+    private final NavigableSet<Long> inFlight = new TreeSet<>();
+
+    private final TreeMap<Long, EmployeeChange> pending = new TreeMap<>();
+
+    private long published;
+
+    @PostConstruct
+    void init() {
+        published = ReplicaRoutingContext.onPrimary(employeeChangeRepository::findLatestSeq);
+    }
+
+    /**
+     * Saves the changes in the caller's transaction. Subscribers hear about them once it
+     * commits and every change recorded before them has committed or rolled back.
+     */
+    public void record(List<EmployeeChange> changes) {
+        List<EmployeeChange> saved;
+        // Numbers are handed out in order under the lock, so one handed out but not yet in
+        // flight is above every number the watermark can pass. Saving may fetch the next
+        // block of numbers; a ReentrantLock doesn't pin a virtual thread while it waits
+        numbering.lock();
+        try {
+            saved = employeeChangeRepository.saveAll(changes);
+            synchronized (this) {
+                saved.forEach(change -> inFlight.add(change.getSeq()));
+            }
+        } finally {
+            numbering.unlock();
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            complete(saved, true);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                complete(saved, status == STATUS_COMMITTED);
+            }
+        });
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<EmployeeChange> getChanges(long since, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, EmployeeService.MAX_PAGE_SIZE));
+        long watermark = watermark();
+        List<EmployeeChange> changes = ReplicaRoutingContext.onPrimary(() ->
+                employeeChangeRepository.findBySeqGreaterThanAndSeqLessThanEqualOrderBySeqAsc(
+                        since, watermark, PageRequest.ofSize(pageSize + 1)));
+        if (changes.size() <= pageSize) {
+            return new CursorPage<>(changes, null);
+        }
+        List<EmployeeChange> content = changes.subList(0, pageSize);
+        return new CursorPage<>(content, content.get(pageSize - 1).getSeq());
+    }
+
+    /**
+     * Streams the changes after {@code since}, or only changes from now on when it is null.
+     */
+    public SseEmitter subscribe(Long since) {
+        SseEmitter emitter = new SseEmitter(SSE_TIMEOUT.toMillis());
+        Subscription subscription;
+        synchronized (this) {
+            // Up to published from the table, after it from the queue
+            subscription = new Subscription(emitter, since != null ? since : published, published);
+            subscriptions.add(subscription);
+        }
+        emitter.onCompletion(() -> subscriptions.remove(subscription));
+        emitter.onError(e -> subscriptions.remove(subscription));
+        schedule(subscription);
+        return emitter;
+    }
+
+    int subscriberCount() {
+        return subscriptions.size();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        senders.shutdownNow();
+        subscriptions.forEach(subscription -> subscription.emitter.complete());
+    }
+
+    // Every change up to the watermark has committed or rolled back
+    private synchronized long watermark() {
+        return inFlight.isEmpty() ? Long.MAX_VALUE : inFlight.first() - 1;
+    }
+
+    private void complete(List<EmployeeChange> changes, boolean committed) {
+        synchronized (this) {
+            for (EmployeeChange change : changes) {
+                inFlight.remove(change.getSeq());
+                if (committed) {
+                    pending.put(change.getSeq(), change);
+                }
+            }
+            long watermark = watermark();
+            while (!pending.isEmpty() && pending.firstKey() <= watermark) {
+                EmployeeChange change = pending.pollFirstEntry().getValue();
+                published = change.getSeq();
+                subscriptions.forEach(subscription -> subscription.offer(change));
+            }
+        }
+        subscriptions.forEach(this::schedule);
+    }
+
+    private void schedule(Subscription subscription) {
+        if (subscription.hasWork() && subscription.draining.compareAndSet(false, true)) {
+            senders.execute(() -> drain(subscription));
+        }
+    }
+
+    private void drain(Subscription subscription) {
+        try {
+            drainQueue(subscription);
+        } catch (RuntimeException e) {
+            // The replay could not read the table; the client reconnects with Last-Event-ID
+            subscriptions.remove(subscription);
+            subscription.emitter.completeWithError(e);
+        }
+    }
+
+    private void drainQueue(Subscription subscription) {
+        while (true) {
+            if (!subscriptions.contains(subscription)) {
+                return;
+            }
+            long replayTo;
+            EmployeeChange next;
+            synchronized (subscription) {
+                replayTo = subscription.replayTo;
+                next = replayTo > subscription.lastSent ? null : subscription.queue.poll();
+            }
+            if (replayTo > subscription.lastSent) {
+                if (!replay(subscription, replayTo)) {
+                    return;
+                }
+            } else if (next != null) {
+                // The replay may already have sent it
+                if (next.getSeq() > subscription.lastSent && !send(subscription, next)) {
+                    return;
+                }
+            } else {
+                subscription.draining.set(false);
+                if (!subscription.hasWork() || !subscription.draining.compareAndSet(false, true)) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private boolean replay(Subscription subscription, long replayTo) {
+        List<EmployeeChange> changes;
+        do {
+            long after = subscription.lastSent;
+            changes = ReplicaRoutingContext.onPrimary(() ->
+                    employeeChangeRepository.findBySeqGreaterThanAndSeqLessThanEqualOrderBySeqAsc(
+                            after, replayTo, PageRequest.ofSize(REPLAY_CHUNK_SIZE)));
+            for (EmployeeChange change : changes) {
+                if (!send(subscription, change)) {
+                    return false;
+                }
+            }
+        } while (changes.size() == REPLAY_CHUNK_SIZE);
+        // Nothing left up to replayTo, even if the last change sent was below it
+        subscription.lastSent = Math.max(subscription.lastSent, replayTo);
+        return true;
+    }
+
+    private boolean send(Subscription subscription, EmployeeChange change) {
+        try {
+            subscription.emitter.send(SseEmitter.event()
+                    .id(String.valueOf(change.getSeq()))
+                    .name(change.getType().name())
+                    .data(change, MediaType.APPLICATION_JSON));
+            subscription.lastSent = change.getSeq();
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            // The client went away or the emitter timed out, it resumes with Last-Event-ID
+            subscriptions.remove(subscription);
+            return false;
+        }
+    }
+
+    private static final class Subscription {
+
+        private final SseEmitter emitter;
+
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        // Guarded by this: live changes to send, and the last change to read from the table
+        // before them
+        private final ArrayDeque<EmployeeChange> queue = new ArrayDeque<>();
+
+        private long replayTo;
+
+        // Only written by the thread draining the subscription
+        private volatile long lastSent;
+
+        private Subscription(SseEmitter emitter, long lastSent, long replayTo) {
+            this.emitter = emitter;
+            this.lastSent = lastSent;
+            this.replayTo = replayTo;
+        }
+
+        private synchronized void offer(EmployeeChange change) {
+            if (queue.size() < QUEUE_CAPACITY) {
+                queue.add(change);
+            } else {
+                // Too far behind, read everything up to this change from the table instead
+                queue.clear();
+                replayTo = change.getSeq();
+            }
+        }
+
+        private synchronized boolean hasWork() {
+            return !queue.isEmpty() || replayTo > lastSent;
+        }
+    }
+}
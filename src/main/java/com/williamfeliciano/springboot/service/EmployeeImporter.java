@@ -0,0 +1,73 @@
+package com.williamfeliciano.springboot.service;
+
+import com.williamfeliciano.springboot.dto.BatchItemResult;
+import com.williamfeliciano.springboot.dto.BatchResult;
+import com.williamfeliciano.springboot.dto.ImportResult;
+import com.williamfeliciano.springboot.model.Employee;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Imports a stream of employees in chunks through {@link EmployeeService#saveEmployees},
+ * so memory stays bounded by the chunk size whatever the length of the input. Each chunk
+ * commits on its own; an import that fails midway keeps the chunks before it.
+ */
+@Component
+@RequiredArgsConstructor
+public class EmployeeImporter {
+
+    static final int CHUNK_SIZE = 1000;
+
+    static final int MAX_REPORTED_ERRORS = 100;
+
+    private final EmployeeService employeeService;
+
+    /**
+     * @throws IllegalArgumentException if a record cannot be parsed, after importing the
+     *                                  records before it
+     */
+    public ImportResult importEmployees(Iterator<Employee> employees) {
+        ImportResult result = new ImportResult(0, 0, new ArrayList<>());
+        List<Employee> chunk = new ArrayList<>(CHUNK_SIZE);
+        long offset = 0;
+        while (true) {
+            Employee employee;
+            try {
+                if (!employees.hasNext()) {
+                    break;
+                }
+                employee = employees.next();
+            } catch (RuntimeException e) {
+                save(chunk, offset, result);
+                throw new IllegalArgumentException("Malformed record " + (offset + chunk.size())
+                        + ", the records before it were imported", e);
+            }
+            chunk.add(employee);
+            if (chunk.size() == CHUNK_SIZE) {
+                save(chunk, offset, result);
+                offset += CHUNK_SIZE;
+                chunk.clear();
+            }
+        }
+        save(chunk, offset, result);
+        return result;
+    }
+
+    private void save(List<Employee> chunk, long offset, ImportResult result) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        BatchResult batch = employeeService.saveEmployees(chunk);
+        result.setCreated(result.getCreated() + batch.getCreated());
+        result.setFailed(result.getFailed() + batch.getFailed());
+        for (BatchItemResult item : batch.getItems()) {
+            if (item.getStatus() == BatchItemResult.Status.FAILED && result.getErrors().size() < MAX_REPORTED_ERRORS) {
+                result.getErrors().add(BatchItemResult.failed((int) (offset + item.getIndex()), item.getError()));
+            }
+        }
+    }
+}
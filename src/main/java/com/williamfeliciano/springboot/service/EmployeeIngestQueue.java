@@ -0,0 +1,187 @@
+package com.williamfeliciano.springboot.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.williamfeliciano.springboot.config.EmployeeIngestProperties;
+import com.williamfeliciano.springboot.dto.BatchItemResult;
+import com.williamfeliciano.springboot.dto.BatchResult;
+import com.williamfeliciano.springboot.dto.IngestStatus;
+import com.williamfeliciano.springboot.exception.ResourceConflictException;
+import com.williamfeliciano.springboot.exception.TooManyRequestsException;
+import com.williamfeliciano.springboot.model.Employee;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.context.WebServerGracefulShutdownLifecycle;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Write-behind buffer for creates. Submissions are acknowledged once they are in a
+ * bounded queue, and a single writer thread saves them in batches through
+ * {@link EmployeeService#saveEmployees}, so a burst costs one transaction per batch
+ * rather than one per request. A full queue rejects new submissions instead of growing.
+ * <p>
+ * On shutdown the queue stops after the web server, stops accepting and lets the
+ * writer flush what is left.
+ */
+@Component
+@ConditionalOnProperty(prefix = "employee.ingest", name = "enabled", havingValue = "true")
+public class EmployeeIngestQueue implements SmartLifecycle, MeterBinder {
+
+    private static final int PHASE = WebServerGracefulShutdownLifecycle.SMART_LIFECYCLE_PHASE - 2048;
+
+    private static final long POLL_INTERVAL_MILLIS = 100;
+
+    private final EmployeeService employeeService;
+
+    private final EmployeeIngestProperties properties;
+
+    private final BlockingQueue<Submission> queue;
+
+    private final Cache<String, IngestStatus> statuses;
+
+    private final AtomicLong rejected = new AtomicLong();
+
+    private volatile boolean accepting = true;
+
+    private volatile boolean running;
+
+    private Thread writer;
+
+    public EmployeeIngestQueue(EmployeeService employeeService, EmployeeIngestProperties properties) {
+        this.employeeService = employeeService;
+        this.properties = properties;
+        this.queue = new ArrayBlockingQueue<>(properties.getCapacity());
+        this.statuses = Caffeine.newBuilder()
+                .expireAfterWrite(properties.getStatusTtl())
+                .maximumSize(properties.getMaxTrackedStatuses())
+                .build();
+    }
+
+    public IngestStatus submit(Employee employee) {
+        if (!accepting) {
+            rejected.incrementAndGet();
+            throw new TooManyRequestsException("Ingestion is shutting down");
+        }
+        IngestStatus status = IngestStatus.queued(UUID.randomUUID().toString());
+        statuses.put(status.getTrackingId(), status);
+        if (!queue.offer(new Submission(status.getTrackingId(), employee))) {
+            statuses.invalidate(status.getTrackingId());
+            rejected.incrementAndGet();
+            throw new TooManyRequestsException("Ingest queue is full");
+        }
+        return status;
+    }
+
+    public Optional<IngestStatus> getStatus(String trackingId) {
+        return Optional.ofNullable(statuses.getIfPresent(trackingId));
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        writer = new Thread(this::drain, "employee-ingest-writer");
+        writer.start();
+    }
+
+    @Override
+    public void stop() {
+        accepting = false;
+        running = false;
+        try {
+            writer.join(properties.getShutdownTimeout().toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("employee.ingest.queue.size", queue, BlockingQueue::size)
+                .description("Creates waiting to be written")
+                .register(registry);
+        FunctionCounter.builder("employee.ingest.rejected", rejected, AtomicLong::get)
+                .description("Creates rejected because the queue was full or shutting down")
+                .register(registry);
+    }
+
+    private void drain() {
+        List<Submission> batch = new ArrayList<>(properties.getBatchSize());
+        // Keep going after stop() until everything accepted so far is written
+        while (running || !queue.isEmpty()) {
+            try {
+                Submission first = queue.poll(POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, properties.getBatchSize() - 1);
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<Submission> batch) {
+        try {
+            record(batch, employeeService.saveEmployees(batch.stream().map(Submission::employee).toList()));
+        } catch (ResourceConflictException e) {
+            if (batch.size() == 1) {
+                fail(batch, e.getMessage());
+                return;
+            }
+            // A concurrent create took one of the emails after the batch checked them, so
+            // retry one by one to find out which
+            for (Submission submission : batch) {
+                write(List.of(submission));
+            }
+        } catch (RuntimeException e) {
+            fail(batch, e.getMessage());
+        }
+    }
+
+    private void fail(List<Submission> batch, String error) {
+        for (Submission submission : batch) {
+            statuses.put(submission.trackingId(), IngestStatus.failed(submission.trackingId(), error));
+        }
+    }
+
+    private void record(List<Submission> batch, BatchResult result) {
+        for (int i = 0; i < batch.size(); i++) {
+            String trackingId = batch.get(i).trackingId();
+            BatchItemResult item = result.getItems().get(i);
+            statuses.put(trackingId, item.getStatus() == BatchItemResult.Status.CREATED
+                    ? IngestStatus.created(trackingId, item.getId())
+                    : IngestStatus.failed(trackingId, item.getError()));
+        }
+    }
+
+    private record Submission(String trackingId, Employee employee) {
+    }
+}
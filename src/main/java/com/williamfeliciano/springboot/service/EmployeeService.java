@@ -1,58 +1,276 @@
 package com.williamfeliciano.springboot.service;
 
+import com.williamfeliciano.springboot.dto.BatchItemResult;
+import com.williamfeliciano.springboot.dto.BatchResult;
+import com.williamfeliciano.springboot.dto.CursorPage;
+import com.williamfeliciano.springboot.dto.SlicePage;
+import com.williamfeliciano.springboot.exception.PreconditionFailedException;
+import com.williamfeliciano.springboot.exception.ResourceConflictException;
 import com.williamfeliciano.springboot.exception.ResourceNotFoundException;
 import com.williamfeliciano.springboot.model.Employee;
+import com.williamfeliciano.springboot.model.EmployeeChange;
+import com.williamfeliciano.springboot.model.EmployeeField;
 import com.williamfeliciano.springboot.repository.EmployeeRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 @RequiredArgsConstructor
 @Service
+@Timed(value = "employee.service", histogram = true, percentiles = {0.5, 0.95, 0.99})
 public class EmployeeService {
 
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    // Keeps the IN list under the bind parameter limits of common databases
+    private static final int EMAIL_LOOKUP_CHUNK_SIZE = 1000;
+
     private final EmployeeRepository employeeRepository;
 
+    private final EntityManager entityManager;
+
+    private final EmployeeCache employeeCache;
 
+    private final EmployeeChangeFeed employeeChangeFeed;
+
+    @Transactional
     public Employee saveEmployee(Employee employee) {
+        // The unique constraint on email rejects duplicates, also between concurrent requests
+        Employee newEmployee = rejectingDuplicateEmail(() -> employeeRepository.saveAndFlush(employee));
+        recordChanges(EmployeeChange.Type.CREATED, List.of(newEmployee));
+        afterCommit(() -> employeeCache.put(newEmployee));
+        return newEmployee;
+    }
+
+    @Transactional
+    public BatchResult saveEmployees(List<Employee> employees) {
+        Set<String> takenEmails = findExistingEmails(employees);
+        BatchItemResult[] items = new BatchItemResult[employees.size()];
+        List<Employee> accepted = new ArrayList<>(employees.size());
+        List<Integer> acceptedIndexes = new ArrayList<>(employees.size());
+        for (int i = 0; i < employees.size(); i++) {
+            Employee employee = employees.get(i);
+            if (employee.getFirstName() == null || employee.getLastName() == null || employee.getEmail() == null) {
+                items[i] = BatchItemResult.failed(i, "First name, last name and email are required");
+            } else if (!takenEmails.add(employee.getEmail())) {
+                items[i] = BatchItemResult.failed(i, "Email already taken");
+            } else {
+                employee.setId(null);
+                employee.setVersion(null);
+                accepted.add(employee);
+                acceptedIndexes.add(i);
+            }
+        }
+
+        List<Employee> savedEmployees = rejectingDuplicateEmail(() -> employeeRepository.saveAllAndFlush(accepted));
+        recordChanges(EmployeeChange.Type.CREATED, savedEmployees);
+        afterCommit(() -> savedEmployees.forEach(employeeCache::put));
+        for (int i = 0; i < savedEmployees.size(); i++) {
+            Employee savedEmployee = savedEmployees.get(i);
+            items[acceptedIndexes.get(i)] = BatchItemResult.created(acceptedIndexes.get(i), savedEmployee.getId());
+        }
+        return new BatchResult(savedEmployees.size(), employees.size() - savedEmployees.size(), List.of(items));
+    }
 
-        // Verify if the email already exists
-        Optional<Employee> savedEmployee = employeeRepository.findByEmail(employee.getEmail());
-        if (savedEmployee.isPresent()) {
-            throw new ResourceNotFoundException("Email already taken");
+    private Set<String> findExistingEmails(List<Employee> employees) {
+        List<String> emails = employees.stream()
+                .map(Employee::getEmail)
+                .filter(email -> email != null)
+                .distinct()
+                .toList();
+        Set<String> existingEmails = new HashSet<>();
+        for (int from = 0; from < emails.size(); from += EMAIL_LOOKUP_CHUNK_SIZE) {
+            List<String> chunk = emails.subList(from, Math.min(from + EMAIL_LOOKUP_CHUNK_SIZE, emails.size()));
+            existingEmails.addAll(employeeRepository.findExistingEmails(chunk));
         }
-        return employeeRepository.save(employee);
+        return existingEmails;
     }
 
+    @Transactional(readOnly = true)
     public List<Employee> getAllEmployees() {
         return employeeRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
+    public CursorPage<Employee> getEmployeesPage(Long after, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        // Fetch one extra row to know whether another page follows without a count query
+        List<Employee> employees = employeeRepository.findByIdGreaterThanOrderByIdAsc(
+                after == null ? 0L : after, PageRequest.ofSize(pageSize + 1));
+        if (employees.size() <= pageSize) {
+            return new CursorPage<>(employees, null);
+        }
+        List<Employee> content = employees.subList(0, pageSize);
+        return new CursorPage<>(content, content.get(pageSize - 1).getId());
+    }
+
+    /**
+     * Same keyset paging as {@link #getEmployeesPage}, but reads only the requested fields.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<Map<String, Object>> getEmployeeFieldsPage(Set<EmployeeField> fields, Long after, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        List<Map<String, Object>> rows = employeeRepository.findFieldsByIdGreaterThan(
+                fields, after == null ? 0L : after, pageSize + 1);
+        if (rows.size() <= pageSize) {
+            return new CursorPage<>(rows, null);
+        }
+        List<Map<String, Object>> content = rows.subList(0, pageSize);
+        return new CursorPage<>(content, (Long) content.get(pageSize - 1).get(EmployeeField.ID.getAttribute()));
+    }
+
+    @Transactional(readOnly = true)
+    public SlicePage<Employee> searchEmployees(String lastNamePrefix, String emailPrefix, int page, int size) {
+        if (lastNamePrefix == null && emailPrefix == null) {
+            throw new IllegalArgumentException("A last name or email prefix is required");
+        }
+        Pageable pageable = PageRequest.of(Math.max(0, page), Math.max(1, Math.min(size, MAX_PAGE_SIZE)));
+        Slice<Employee> employees;
+        if (emailPrefix == null) {
+            employees = employeeRepository.findByLastNameStartingWithOrderByLastNameAscIdAsc(lastNamePrefix, pageable);
+        } else if (lastNamePrefix == null) {
+            employees = employeeRepository.findByEmailStartingWithOrderByEmailAsc(emailPrefix, pageable);
+        } else {
+            employees = employeeRepository.findByLastNameStartingWithAndEmailStartingWithOrderByLastNameAscIdAsc(
+                    lastNamePrefix, emailPrefix, pageable);
+        }
+        return SlicePage.of(employees);
+    }
+
+    @Transactional(readOnly = true)
+    public void streamEmployees(Consumer<Employee> consumer) {
+        try (Stream<Employee> employees = employeeRepository.streamAllByOrderByIdAsc()) {
+            employees.forEach(employee -> {
+                consumer.accept(employee);
+                // Keep the persistence context from growing with the table
+                entityManager.detach(employee);
+            });
+        }
+    }
+
     public Optional<Employee> getEmployeeById(Long id) {
-        return employeeRepository.findById(id);
+        return employeeCache.get(id, employeeRepository::findById);
     }
 
+    @Transactional
     public Employee updateEmployee(Long id, Employee employee) {
-        Optional<Employee> employeeOptional = employeeRepository.findById(id);
-        if (employeeOptional.isEmpty()) {
-            throw new ResourceNotFoundException("Employee not found");
+        return updateEmployee(id, employee, null);
+    }
+
+    /**
+     * Updates the employee if it is still at {@code expectedVersion}, or whatever its
+     * current version is when {@code expectedVersion} is null.
+     */
+    // Changes the managed entity, usually read from the second-level cache, and lets the
+    // flush write it with a version check: one UPDATE, after which Hibernate refreshes only
+    // this employee's cache entry. A concurrent writer that commits in between gets the
+    // request a 412 with If-Match and a 409 without, instead of a retry that could keep
+    // reading the same snapshot
+    @Transactional
+    public Employee updateEmployee(Long id, Employee employee, Long expectedVersion) {
+        Employee employeeFromDB = employeeRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Employee not found"));
+        if (expectedVersion != null && !expectedVersion.equals(employeeFromDB.getVersion())) {
+            throw new PreconditionFailedException("Employee was modified");
         }
-        Employee employeeFromDB = employeeOptional.get();
         employeeFromDB.setFirstName(employee.getFirstName());
         employeeFromDB.setLastName(employee.getLastName());
         employeeFromDB.setEmail(employee.getEmail());
-        return employeeRepository.save(employeeFromDB);
+        Employee updatedEmployee;
+        try {
+            updatedEmployee = rejectingDuplicateEmail(() -> employeeRepository.saveAndFlush(employeeFromDB));
+        } catch (OptimisticLockingFailureException e) {
+            if (expectedVersion != null) {
+                throw new PreconditionFailedException("Employee was modified", e);
+            }
+            throw new ResourceConflictException("Employee is being modified concurrently", e);
+        }
+        recordChanges(EmployeeChange.Type.UPDATED, List.of(updatedEmployee));
+        afterCommit(() -> employeeCache.put(updatedEmployee));
+        return updatedEmployee;
+    }
+
+    // One transaction, so the repository's delete finds the entity in the persistence
+    // context instead of loading it a second time
+    @Transactional
+    public Employee deleteEmployee(Long id) {
+        return deleteEmployee(id, null);
     }
 
-    public Employee deleteEmployee(Long id){
-        Optional<Employee> employeeOptional = employeeRepository.findById(id);
-        if (employeeOptional.isEmpty()) {
-            throw new ResourceNotFoundException("Employee not found");
+    @Transactional
+    public Employee deleteEmployee(Long id, Long expectedVersion){
+        Employee employeeFromDB = employeeRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Employee not found"));
+        if (expectedVersion != null && !expectedVersion.equals(employeeFromDB.getVersion())) {
+            throw new PreconditionFailedException("Employee was modified");
         }
-        Employee employeeFromDB = employeeOptional.get();
-        employeeRepository.deleteById(id);
+        employeeRepository.delete(employeeFromDB);
+        recordChanges(EmployeeChange.Type.DELETED, List.of(employeeFromDB));
+        afterCommit(() -> employeeCache.markMissing(id));
         return employeeFromDB;
     }
+
+    // Written in the caller's transaction; subscribers only hear about changes that commit
+    private void recordChanges(EmployeeChange.Type type, List<Employee> employees) {
+        List<EmployeeChange> changes = new ArrayList<>(employees.size());
+        for (Employee employee : employees) {
+            changes.add(EmployeeChange.of(type, employee));
+        }
+        employeeChangeFeed.record(changes);
+    }
+
+    // The cache is shared by every request, so it only learns about a write once the write
+    // has committed; a rollback, also of an enclosing transaction, leaves it as it was
+    private static void afterCommit(Runnable cacheUpdate) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            cacheUpdate.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                cacheUpdate.run();
+            }
+        });
+    }
+
+    private static <T> T rejectingDuplicateEmail(Supplier<T> write) {
+        try {
+            return write.get();
+        } catch (DataIntegrityViolationException e) {
+            if (isEmailUniqueViolation(e)) {
+                throw new ResourceConflictException("Email already taken", e);
+            }
+            throw e;
+        }
+    }
+
+    private static boolean isEmailUniqueViolation(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation && violation.getConstraintName() != null) {
+                return violation.getConstraintName().toLowerCase().contains(Employee.EMAIL_UNIQUE_CONSTRAINT);
+            }
+        }
+        return false;
+    }
 }
@@ -0,0 +1,97 @@
+package com.williamfeliciano.springboot.service;
+
+import com.williamfeliciano.springboot.dto.CursorPage;
+import com.williamfeliciano.springboot.exception.PreconditionFailedException;
+import com.williamfeliciano.springboot.exception.ResourceConflictException;
+import com.williamfeliciano.springboot.exception.ResourceNotFoundException;
+import com.williamfeliciano.springboot.model.Employee;
+import com.williamfeliciano.springboot.repository.ReactiveEmployeeRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+@RequiredArgsConstructor
+@Service
+@Profile("reactive")
+public class ReactiveEmployeeService {
+
+    private final ReactiveEmployeeRepository employeeRepository;
+
+    public Mono<Employee> saveEmployee(Employee employee) {
+        return employeeRepository.insert(employee)
+                .onErrorMap(ReactiveEmployeeService::isEmailUniqueViolation,
+                        e -> new ResourceConflictException("Email already taken", e));
+    }
+
+    public Flux<Employee> getAllEmployees() {
+        return employeeRepository.findAll();
+    }
+
+    public Mono<CursorPage<Employee>> getEmployeesPage(Long after, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, EmployeeService.MAX_PAGE_SIZE));
+        return employeeRepository.findByIdGreaterThan(after == null ? 0L : after, pageSize + 1)
+                .collectList()
+                .map(employees -> {
+                    if (employees.size() <= pageSize) {
+                        return new CursorPage<>(employees, null);
+                    }
+                    List<Employee> content = employees.subList(0, pageSize);
+                    return new CursorPage<>(content, content.get(pageSize - 1).getId());
+                });
+    }
+
+    public Mono<Employee> getEmployeeById(Long id) {
+        return employeeRepository.findById(id);
+    }
+
+    public Mono<Employee> updateEmployee(Long id, Employee employee) {
+        return updateEmployee(id, employee, null);
+    }
+
+    /**
+     * Updates the employee if it is still at {@code expectedVersion}, or whatever its
+     * current version is when {@code expectedVersion} is null.
+     */
+    public Mono<Employee> updateEmployee(Long id, Employee employee, Long expectedVersion) {
+        return employeeRepository.update(id, employee, expectedVersion)
+                .onErrorMap(ReactiveEmployeeService::isEmailUniqueViolation,
+                        e -> new ResourceConflictException("Email already taken", e))
+                // Nothing matched: either the employee is gone or it moved past expectedVersion
+                .switchIfEmpty(Mono.defer(() -> employeeRepository.findById(id)
+                        .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Employee not found")))
+                        .flatMap(current -> Mono.error(new PreconditionFailedException("Employee was modified")))));
+    }
+
+    public Mono<Employee> deleteEmployee(Long id) {
+        return deleteEmployee(id, null);
+    }
+
+    public Mono<Employee> deleteEmployee(Long id, Long expectedVersion) {
+        return employeeRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Employee not found")))
+                .flatMap(employee -> {
+                    if (expectedVersion == null) {
+                        return employeeRepository.deleteById(id).thenReturn(employee);
+                    }
+                    if (!expectedVersion.equals(employee.getVersion())) {
+                        return Mono.error(new PreconditionFailedException("Employee was modified"));
+                    }
+                    // Also fails if a writer changed it after it was read
+                    return employeeRepository.deleteByIdAndVersion(id, expectedVersion)
+                            .flatMap(deleted -> deleted == 0
+                                    ? Mono.error(new PreconditionFailedException("Employee was modified"))
+                                    : Mono.just(employee));
+                });
+    }
+
+    private static boolean isEmailUniqueViolation(Throwable e) {
+        return e instanceof DataIntegrityViolationException
+                && e.getMessage() != null
+                && e.getMessage().toLowerCase().contains(Employee.EMAIL_UNIQUE_CONSTRAINT);
+    }
+}
@@ -0,0 +1,31 @@
+-- Matches the schema Hibernate derives from Employee and EmployeeChange; the sequences
+-- step by their allocationSize of 50
+
+create sequence employees_seq start with 1 increment by 50;
+
+create sequence employee_changes_seq start with 1 increment by 50;
+
+create table employees (
+    id bigint not null,
+    version bigint not null,
+    email varchar(255) not null,
+    first_name varchar(255) not null,
+    last_name varchar(255) not null,
+    primary key (id),
+    constraint uk_employees_email unique (email)
+);
+
+-- Serves last name prefix searches, ordered by last name then id
+create index idx_employees_last_name on employees (last_name, id);
+
+create table employee_changes (
+    seq bigint not null,
+    type varchar(16) not null check (type in ('CREATED', 'UPDATED', 'DELETED')),
+    employee_id bigint not null,
+    first_name varchar(255),
+    last_name varchar(255),
+    email varchar(255),
+    version bigint,
+    changed_at timestamp(6) with time zone not null,
+    primary key (seq)
+);
@@ -0,0 +1,66 @@
+package com.williamfeliciano.springboot.codec;
+
+import com.williamfeliciano.springboot.model.Employee;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class EmployeeCsvTests {
+
+    @DisplayName("Test for reading employees from CSV with quoted fields")
+    @Test
+    public void givenCsvWithQuotedFields_whenRead_thenEmployeesByHeaderName() {
+        // given precondition
+        String csv = "email,lastName,id,firstName\r\n"
+                + "wf@gmail.com,\"Feliciano, Jr.\",7,William\r\n"
+                + "\r\n"
+                + "\"say \"\"hi\"\"@gmail.com\",Cena,,\"Jo\nhn\"\n"
+                + "missing@gmail.com,,,";
+
+        // when action or behaviour
+        List<Employee> employees = read(csv);
+
+        // then expected result
+        assertThat(employees).hasSize(3);
+        assertThat(employees.get(0)).isEqualTo(Employee.builder()
+                .firstName("William").lastName("Feliciano, Jr.").email("wf@gmail.com").build());
+        assertThat(employees.get(1).getEmail()).isEqualTo("say \"hi\"@gmail.com");
+        assertThat(employees.get(1).getFirstName()).isEqualTo("Jo\nhn");
+        assertThat(employees.get(2).getFirstName()).isNull();
+        assertThat(employees.get(2).getLastName()).isNull();
+    }
+
+    @DisplayName("Test that written CSV reads back to the same employees")
+    @Test
+    public void givenEmployees_whenWrittenAndRead_thenSameEmployees() throws IOException {
+        // given precondition
+        Employee employee = Employee.builder()
+                .id(1L).firstName("William").lastName("Feliciano, \"Jr.\"").email("wf@gmail.com").version(2L).build();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // when action or behaviour
+        try (EmployeeCsvWriter writer = new EmployeeCsvWriter(out)) {
+            writer.write(employee);
+        }
+        String csv = out.toString(StandardCharsets.UTF_8);
+
+        // then expected result
+        assertThat(csv).isEqualTo(EmployeeCsvWriter.HEADER + "\r\n1,William,\"Feliciano, \"\"Jr.\"\"\",wf@gmail.com,2\r\n");
+        assertThat(read(csv)).containsExactly(Employee.builder()
+                .firstName("William").lastName("Feliciano, \"Jr.\"").email("wf@gmail.com").build());
+    }
+
+    private static List<Employee> read(String csv) {
+        List<Employee> employees = new ArrayList<>();
+        new EmployeeCsvReader(new StringReader(csv)).forEachRemaining(employees::add);
+        return employees;
+    }
+}
@@ -0,0 +1,52 @@
+package com.williamfeliciano.springboot.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.williamfeliciano.springboot.dto.CursorPage;
+import com.williamfeliciano.springboot.model.Employee;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class EmployeeJsonSerializerTests {
+
+    private final ObjectMapper reflective = Jackson2ObjectMapperBuilder.json().build();
+
+    private final ObjectMapper tuned = Jackson2ObjectMapperBuilder.json()
+            .modulesToInstall(EmployeeJsonSerializer.module())
+            .build();
+
+    @DisplayName("Test for the tuned serializer writing the same JSON as the bean serializer")
+    @Test
+    public void givenEmployees_whenSerialized_thenSameJsonAsBeanSerializer() throws Exception {
+        // given precondition
+        Employee full = new Employee(7L, "Jöhn \"JJ\"", "Cena\n", "jc@gmail.com", 3L);
+        Employee unsaved = Employee.builder().firstName("William").build();
+        CursorPage<Employee> page = new CursorPage<>(List.of(full, unsaved), 7L);
+
+        // when action or behaviour
+        byte[] expected = reflective.writeValueAsBytes(page);
+        byte[] actual = tuned.writeValueAsBytes(page);
+
+        // then expected result
+        assertThat(new String(actual)).isEqualTo(new String(expected));
+    }
+
+    @DisplayName("Test for reading back JSON written by the tuned serializer")
+    @Test
+    public void givenEmployee_whenRoundTripped_thenEqualExceptVersion() throws Exception {
+        // given precondition
+        Employee employee = new Employee(7L, "John", "Cena", "jc@gmail.com", 3L);
+
+        // when action or behaviour
+        Employee read = tuned.readValue(tuned.writeValueAsBytes(employee), Employee.class);
+
+        // then expected result
+        assertThat(read.getId()).isEqualTo(7L);
+        assertThat(read.getEmail()).isEqualTo("jc@gmail.com");
+        assertThat(read.getVersion()).isNull();
+    }
+}
@@ -0,0 +1,50 @@
+package com.williamfeliciano.springboot.config;
+
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import com.williamfeliciano.springboot.dto.CursorPage;
+import com.williamfeliciano.springboot.model.Employee;
+import com.williamfeliciano.springboot.model.EmployeeChange;
+import com.williamfeliciano.springboot.repository.EmployeeRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class EmployeeRuntimeHintsTests {
+
+    @DisplayName("Test for hints covering the Lombok accessors Jackson uses")
+    @Test
+    public void givenRegistrar_whenRegistered_thenAccessorsReflectable() {
+        // given precondition
+        RuntimeHints hints = new RuntimeHints();
+
+        // when action or behaviour
+        new EmployeeRuntimeHints().registerHints(hints, getClass().getClassLoader());
+
+        // then expected result
+        assertThat(RuntimeHintsPredicates.reflection().onMethod(Employee.class, "getFirstName")).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onMethod(Employee.class, "setEmail")).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onMethod(EmployeeChange.class, "getChangedAt")).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onMethod(CursorPage.class, "getNextCursor")).accepts(hints);
+    }
+
+    @DisplayName("Test for hints covering the repository and the cache provider")
+    @Test
+    public void givenRegistrar_whenRegistered_thenRepositoryAndCacheProviderReflectable() throws Exception {
+        // given precondition
+        RuntimeHints hints = new RuntimeHints();
+
+        // when action or behaviour
+        new EmployeeRuntimeHints().registerHints(hints, getClass().getClassLoader());
+
+        // then expected result
+        assertThat(RuntimeHintsPredicates.reflection().onType(EmployeeRepository.class)
+                .withMemberCategory(MemberCategory.INTROSPECT_PUBLIC_METHODS)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection()
+                .onConstructor(CaffeineCachingProvider.class.getConstructor())).accepts(hints);
+        assertThat(RuntimeHintsPredicates.resource().forResource("reference.conf")).accepts(hints);
+    }
+}
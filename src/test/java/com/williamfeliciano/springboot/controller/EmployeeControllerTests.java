@@ -1,8 +1,20 @@
 package com.williamfeliciano.springboot.controller;
 
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.williamfeliciano.springboot.config.CborConfig;
+import com.williamfeliciano.springboot.dto.BatchItemResult;
+import com.williamfeliciano.springboot.dto.BatchResult;
+import com.williamfeliciano.springboot.dto.CursorPage;
+import com.williamfeliciano.springboot.dto.SlicePage;
+import com.williamfeliciano.springboot.exception.PreconditionFailedException;
+import com.williamfeliciano.springboot.exception.ResourceConflictException;
 import com.williamfeliciano.springboot.exception.ResourceNotFoundException;
 import com.williamfeliciano.springboot.model.Employee;
+import com.williamfeliciano.springboot.model.EmployeeChange;
+import com.williamfeliciano.springboot.model.EmployeeField;
+import com.williamfeliciano.springboot.service.EmployeeChangeFeed;
 import com.williamfeliciano.springboot.service.EmployeeService;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -10,23 +22,36 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(EmployeeController.class)
+@Import(CborConfig.class)
 public class EmployeeControllerTests {
 
     private static Employee employee;
@@ -37,6 +62,8 @@ public class EmployeeControllerTests {
     private ObjectMapper objectMapper;
     @MockBean
     private EmployeeService employeeService;
+    @MockBean
+    private EmployeeChangeFeed employeeChangeFeed;
 
     @BeforeEach
     public void setup() {
@@ -69,6 +96,41 @@ public class EmployeeControllerTests {
                 .andExpect(jsonPath("$.email", is(employee.getEmail())));
     }
 
+    @Test
+    public void givenEmployeeWithTakenEmail_whenSaveEmployee_returnConflict() throws Exception {
+        // Mock SaveEmployee service call
+        given(employeeService.saveEmployee(any(Employee.class))).willThrow(new ResourceConflictException("Email already taken"));
+        // mock the post request
+        ResultActions response = mockMvc.perform(post("/api/employees")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(employee)));
+        // verify the response
+        response.andDo(print())
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.status", is(409)))
+                .andExpect(jsonPath("$.message", is("Email already taken")));
+    }
+
+    @Test
+    public void givenEmployeeList_whenCreateEmployees_returnBatchResult() throws Exception {
+        // Mock saveEmployees service call
+        given(employeeService.saveEmployees(employeeList)).willReturn(new BatchResult(1, 1, List.of(
+                BatchItemResult.created(0, 1L),
+                BatchItemResult.failed(1, "Email already taken"))));
+        // mock the post request
+        ResultActions response = mockMvc.perform(post("/api/employees/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(employeeList)));
+        // verify the response
+        response.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created", is(1)))
+                .andExpect(jsonPath("$.failed", is(1)))
+                .andExpect(jsonPath("$.items[0].status", is("CREATED")))
+                .andExpect(jsonPath("$.items[0].id", is(1)))
+                .andExpect(jsonPath("$.items[1].error", is("Email already taken")));
+    }
+
     @Test
     public void givenAListOfEmployees_whenGetAllEmployees_thenReturnEmployeesList() throws Exception {
         // given precondition
@@ -87,6 +149,161 @@ public class EmployeeControllerTests {
                 .andExpect(jsonPath("$[1].email", is(employeeList.get(1).getEmail())));
     }
 
+    @Test
+    public void givenCborAccept_whenGetAllEmployees_thenReturnCborEmployeesList() throws Exception {
+        // given precondition
+        given(employeeService.getAllEmployees()).willReturn(employeeList);
+        // when action or behaviour
+        MvcResult result = mockMvc.perform(get("/api/employees")
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn();
+        // then expected result
+        List<Employee> employees = new CBORMapper().readValue(result.getResponse().getContentAsByteArray(),
+                new TypeReference<List<Employee>>() {
+                });
+        Assertions.assertThat(employees).isEqualTo(employeeList);
+    }
+
+    @Test
+    public void givenCborEmployeeList_whenCreateEmployees_returnBatchResult() throws Exception {
+        // given precondition
+        given(employeeService.saveEmployees(employeeList)).willReturn(new BatchResult(2, 0, List.of(
+                BatchItemResult.created(0, 1L),
+                BatchItemResult.created(1, 2L))));
+        // when action or behaviour
+        ResultActions response = mockMvc.perform(post("/api/employees/batch")
+                .contentType(MediaType.APPLICATION_CBOR)
+                .content(new CBORMapper().writeValueAsBytes(employeeList)));
+        // then expected result
+        response.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created", is(2)));
+    }
+
+    @Test
+    public void givenAfterAndLimit_whenGetAllEmployees_thenReturnEmployeesPage() throws Exception {
+        // given precondition
+        given(employeeService.getEmployeesPage(10L, 2)).willReturn(new CursorPage<>(employeeList, 12L));
+        // when action or behaviour
+        ResultActions response = mockMvc.perform(get("/api/employees")
+                .param("after", "10")
+                .param("limit", "2"));
+        // then expected result
+        response.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.size()", is(employeeList.size())))
+                .andExpect(jsonPath("$.content[0].firstName", is(employee.getFirstName())))
+                .andExpect(jsonPath("$.nextCursor", is(12)));
+    }
+
+    @Test
+    public void givenFields_whenGetAllEmployees_thenReturnOnlyRequestedFields() throws Exception {
+        // given precondition
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("id", 1L);
+        row.put("email", employee.getEmail());
+        given(employeeService.getEmployeeFieldsPage(EnumSet.of(EmployeeField.EMAIL), null, EmployeeService.MAX_PAGE_SIZE))
+                .willReturn(new CursorPage<>(List.of(row), null));
+        // when action or behaviour
+        ResultActions response = mockMvc.perform(get("/api/employees").param("fields", "email"));
+        // then expected result
+        response.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id", is(1)))
+                .andExpect(jsonPath("$.content[0].email", is(employee.getEmail())))
+                .andExpect(jsonPath("$.content[0].firstName").doesNotExist());
+    }
+
+    @Test
+    public void givenUnknownField_whenGetAllEmployees_thenReturnBadRequest() throws Exception {
+        // when action or behaviour
+        ResultActions response = mockMvc.perform(get("/api/employees").param("fields", "salary"));
+        // then expected result
+        response.andDo(print())
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void givenEmailPrefix_whenSearchEmployees_thenReturnMatchingPage() throws Exception {
+        // given precondition
+        given(employeeService.searchEmployees(null, "wf", 0, 20)).willReturn(new SlicePage<>(List.of(employee), 0, 20, false));
+        // when action or behaviour
+        ResultActions response = mockMvc.perform(get("/api/employees/search").param("email", "wf"));
+        // then expected result
+        response.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].email", is(employee.getEmail())))
+                .andExpect(jsonPath("$.hasNext", is(false)));
+    }
+
+    @Test
+    public void givenNoPrefix_whenSearchEmployees_thenReturnBadRequest() throws Exception {
+        // when action or behaviour
+        ResultActions response = mockMvc.perform(get("/api/employees/search"));
+        // then expected result
+        response.andDo(print())
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void givenNdjsonAccept_whenGetAllEmployees_thenStreamOneEmployeePerLine() throws Exception {
+        // given precondition
+        willAnswer(invocation -> {
+            Consumer<Employee> consumer = invocation.getArgument(0);
+            employeeList.forEach(consumer);
+            return null;
+        }).given(employeeService).streamEmployees(any(Consumer.class));
+        // when action or behaviour
+        MvcResult asyncResult = mockMvc.perform(get("/api/employees")
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        ResultActions response = mockMvc.perform(asyncDispatch(asyncResult));
+        // then expected result
+        response.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(
+                        objectMapper.writeValueAsString(employee) + "\n"
+                                + objectMapper.writeValueAsString(employeeList.get(1)) + "\n"));
+    }
+
+    @Test
+    public void givenSince_whenGetChanges_thenReturnChangesPage() throws Exception {
+        // given precondition
+        EmployeeChange change = EmployeeChange.builder()
+                .seq(8L)
+                .type(EmployeeChange.Type.UPDATED)
+                .employeeId(1L)
+                .email(employee.getEmail())
+                .build();
+        given(employeeChangeFeed.getChanges(7L, 100)).willReturn(new CursorPage<>(List.of(change), null));
+        // when action or behaviour
+        ResultActions response = mockMvc.perform(get("/api/employees/changes").param("since", "7"));
+        // then expected result
+        response.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].seq", is(8)))
+                .andExpect(jsonPath("$.content[0].type", is("UPDATED")))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    public void givenLastEventId_whenStreamChanges_thenResumesAfterIt() throws Exception {
+        // given precondition
+        given(employeeChangeFeed.subscribe(42L)).willReturn(new SseEmitter());
+        // when action or behaviour
+        ResultActions response = mockMvc.perform(get("/api/employees/changes")
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .param("since", "7")
+                .header("Last-Event-ID", "42"));
+        // then expected result
+        response.andExpect(request().asyncStarted());
+    }
+
     @Test
     public void givenEmployeeId_whenGetEmployeeId_thenEmployeeObj() throws Exception {
         // given precondition
@@ -100,6 +317,36 @@ public class EmployeeControllerTests {
                 .andExpect(jsonPath("$.firstName", is(employee.getFirstName())));
     }
 
+    @Test
+    public void givenCurrentETag_whenGetEmployeeId_thenNotModified() throws Exception {
+        // given precondition
+        employee.setVersion(3L);
+        given(employeeService.getEmployeeById(1L)).willReturn(Optional.of(employee));
+        // when action or behaviour
+        ResultActions response = mockMvc.perform(get("/api/employees/{id}", 1L)
+                .header(HttpHeaders.IF_NONE_MATCH, "\"3\""));
+        // then expected result
+        response.andDo(print())
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    public void givenStaleETag_whenGetEmployeeId_thenEmployeeObjWithETag() throws Exception {
+        // given precondition
+        employee.setVersion(4L);
+        given(employeeService.getEmployeeById(1L)).willReturn(Optional.of(employee));
+        // when action or behaviour
+        ResultActions response = mockMvc.perform(get("/api/employees/{id}", 1L)
+                .header(HttpHeaders.IF_NONE_MATCH, "\"3\""));
+        // then expected result
+        response.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"4\""))
+                .andExpect(jsonPath("$.firstName", is(employee.getFirstName())));
+    }
+
     @Test
     public void givenInvalidEmployeeId_whenGetEmployeeId_thenReturnException() throws Exception {
         // given precondition
@@ -122,7 +369,7 @@ public class EmployeeControllerTests {
                 .lastName("Felici")
                 .email("wFelici@gmail.com")
                 .build();
-        given(employeeService.updateEmployee(employeeId, employeeUpdate)).willReturn(employeeUpdate);
+        given(employeeService.updateEmployee(employeeId, employeeUpdate, null)).willReturn(employeeUpdate);
         // when action or behaviour
         ResultActions response = mockMvc.perform(put("/api/employees/{id}", employeeId)
                 .contentType(MediaType.APPLICATION_JSON)
@@ -136,8 +383,66 @@ public class EmployeeControllerTests {
                 .andExpect(jsonPath("$.email", is(employeeUpdate.getEmail())));
     }
 
-    @Test()
-    public void givenInvalidEmployeeId_whenUpdateEmployee_thenThrowException() throws Exception {
+    @Test
+    public void givenIfMatch_whenUpdateEmployee_thenReturnEmployeeObjWithNewETag() throws Exception {
+        // given precondition
+        Employee employeeUpdate = Employee.builder()
+                .firstName("Will")
+                .lastName("Felici")
+                .email("wFelici@gmail.com")
+                .build();
+        Employee updatedEmployee = Employee.builder()
+                .id(1L)
+                .firstName("Will")
+                .lastName("Felici")
+                .email("wFelici@gmail.com")
+                .version(4L)
+                .build();
+        given(employeeService.updateEmployee(1L, employeeUpdate, 3L)).willReturn(updatedEmployee);
+        // when action or behaviour
+        ResultActions response = mockMvc.perform(put("/api/employees/{id}", 1L)
+                .header(HttpHeaders.IF_MATCH, "\"3\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(employeeUpdate)));
+        // then expected result
+        response.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"4\""))
+                .andExpect(jsonPath("$.version", is(4)));
+    }
+
+    @Test
+    public void givenStaleIfMatch_whenUpdateEmployee_thenPreconditionFailed() throws Exception {
+        // given precondition
+        Employee employeeUpdate = Employee.builder()
+                .firstName("Will")
+                .lastName("Felici")
+                .email("wFelici@gmail.com")
+                .build();
+        given(employeeService.updateEmployee(1L, employeeUpdate, 2L))
+                .willThrow(new PreconditionFailedException("Employee was modified"));
+        // when action or behaviour
+        ResultActions response = mockMvc.perform(put("/api/employees/{id}", 1L)
+                .header(HttpHeaders.IF_MATCH, "\"2\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(employeeUpdate)));
+        // then expected result
+        response.andDo(print())
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    public void givenWeakIfMatch_whenDeleteEmployee_thenPreconditionFailed() throws Exception {
+        // when action or behaviour
+        ResultActions response = mockMvc.perform(delete("/api/employees/{id}", 1L)
+                .header(HttpHeaders.IF_MATCH, "W/\"2\""));
+        // then expected result
+        response.andDo(print())
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    public void givenInvalidEmployeeId_whenUpdateEmployee_thenReturnNotFound() throws Exception {
         // given precondition
         long invalidEmployeeId = 5L;
         Employee employeeUpdate = Employee.builder()
@@ -145,14 +450,16 @@ public class EmployeeControllerTests {
                 .lastName("Felici")
                 .email("wfelici@gmail.com")
                 .build();
-        given(employeeService.updateEmployee(invalidEmployeeId, employeeUpdate)).willThrow(new ResourceNotFoundException("Employee not found"));
-        // do the request and verify the response
-        Assertions.assertThatThrownBy(() ->
-                        mockMvc.perform(put("/api/employees/{id}", invalidEmployeeId)
-                                .contentType(MediaType.APPLICATION_JSON)
-                                .content(objectMapper.writeValueAsString(employeeUpdate))))
-                .hasCauseInstanceOf(ResourceNotFoundException.class)
-                .hasMessageContaining("Employee not found");
+        given(employeeService.updateEmployee(invalidEmployeeId, employeeUpdate, null)).willThrow(new ResourceNotFoundException("Employee not found"));
+        // when action or behaviour
+        ResultActions response = mockMvc.perform(put("/api/employees/{id}", invalidEmployeeId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(employeeUpdate)));
+        // then expected result
+        response.andDo(print())
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.status", is(404)))
+                .andExpect(jsonPath("$.message", is("Employee not found")));
     }
 
 
@@ -160,7 +467,7 @@ public class EmployeeControllerTests {
     public void givenValidId_whenDeleteEmployee_thenReturnsDeletedEmployee() throws Exception {
         // given precondition
         long employeeId = 1L;
-        given(employeeService.deleteEmployee(employeeId)).willReturn(employee);
+        given(employeeService.deleteEmployee(employeeId, null)).willReturn(employee);
         // when action or behaviour
         ResultActions response = mockMvc.perform(delete("/api/employees/{id}", employeeId));
 
@@ -171,16 +478,17 @@ public class EmployeeControllerTests {
     }
 
     @Test
-    public void givenInvalidId_whenDeleteEmployee_thenThrowsException() {
+    public void givenInvalidId_whenDeleteEmployee_thenReturnNotFound() throws Exception {
         // given precondition
         long invalidEmployeeId = 5L;
-        given(employeeService.deleteEmployee(invalidEmployeeId)).willThrow(new ResourceNotFoundException("Employee not found"));
+        given(employeeService.deleteEmployee(invalidEmployeeId, null)).willThrow(new ResourceNotFoundException("Employee not found"));
         // when action or behaviour
-        Assertions.assertThatThrownBy(() -> mockMvc.perform(delete("/api/employees/{id}", invalidEmployeeId)))
-                .hasCauseInstanceOf(ResourceNotFoundException.class)
-                .hasMessageContaining("Employee not found");
-
-
+        ResultActions response = mockMvc.perform(delete("/api/employees/{id}", invalidEmployeeId));
+        // then expected result
+        response.andDo(print())
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.status", is(404)))
+                .andExpect(jsonPath("$.message", is("Employee not found")));
     }
 
 
@@ -0,0 +1,86 @@
+package com.williamfeliciano.springboot.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.williamfeliciano.springboot.dto.IngestStatus;
+import com.williamfeliciano.springboot.exception.TooManyRequestsException;
+import com.williamfeliciano.springboot.model.Employee;
+import com.williamfeliciano.springboot.service.EmployeeIngestQueue;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.Optional;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = EmployeeIngestController.class, properties = "employee.ingest.enabled=true")
+public class EmployeeIngestControllerTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @MockBean
+    private EmployeeIngestQueue employeeIngestQueue;
+
+    private final Employee employee = Employee.builder()
+            .firstName("William")
+            .lastName("Feliciano")
+            .email("wf@gmail.com")
+            .build();
+
+    @Test
+    public void givenEmployeeObject_whenIngestEmployee_thenAcceptedWithTrackingId() throws Exception {
+        // given precondition
+        given(employeeIngestQueue.submit(any(Employee.class))).willReturn(IngestStatus.queued("abc"));
+        // when action or behaviour
+        ResultActions response = mockMvc.perform(post("/api/employees/ingest")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(employee)));
+        // then expected result
+        response.andDo(print())
+                .andExpect(status().isAccepted())
+                .andExpect(header().string(HttpHeaders.LOCATION, "http://localhost/api/employees/ingest/abc"))
+                .andExpect(jsonPath("$.trackingId", is("abc")))
+                .andExpect(jsonPath("$.state", is("QUEUED")));
+    }
+
+    @Test
+    public void givenFullQueue_whenIngestEmployee_thenTooManyRequests() throws Exception {
+        // given precondition
+        given(employeeIngestQueue.submit(any(Employee.class))).willThrow(new TooManyRequestsException("Ingest queue is full"));
+        // when action or behaviour
+        ResultActions response = mockMvc.perform(post("/api/employees/ingest")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(employee)));
+        // then expected result
+        response.andDo(print())
+                .andExpect(status().isTooManyRequests());
+    }
+
+    @Test
+    public void givenTrackingId_whenGetIngestStatus_thenReturnStatus() throws Exception {
+        // given precondition
+        given(employeeIngestQueue.getStatus("abc")).willReturn(Optional.of(IngestStatus.created("abc", 7L)));
+        given(employeeIngestQueue.getStatus("missing")).willReturn(Optional.empty());
+        // when action or behaviour, then expected result
+        mockMvc.perform(get("/api/employees/ingest/{trackingId}", "abc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.employeeId", is(7)));
+        mockMvc.perform(get("/api/employees/ingest/{trackingId}", "missing"))
+                .andExpect(status().isNotFound());
+    }
+}
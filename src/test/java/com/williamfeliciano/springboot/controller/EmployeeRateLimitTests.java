@@ -0,0 +1,119 @@
+package com.williamfeliciano.springboot.controller;
+
+import com.williamfeliciano.springboot.model.Employee;
+import com.williamfeliciano.springboot.service.EmployeeChangeFeed;
+import com.williamfeliciano.springboot.service.EmployeeService;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = EmployeeController.class, properties = {
+        "employee.rate-limit.enabled=true",
+        "employee.rate-limit.requests-per-second=0.01",
+        "employee.rate-limit.burst=2",
+        "employee.rate-limit.client-id-header=X-Client-Id",
+        "employee.rate-limit.concurrency.global-limit=1",
+        "employee.rate-limit.concurrency.initial-limit=2",
+        "employee.rate-limit.concurrency.max-limit=2"
+})
+public class EmployeeRateLimitTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @MockBean
+    private EmployeeService employeeService;
+    @MockBean
+    private EmployeeChangeFeed employeeChangeFeed;
+
+    @Test
+    public void givenClientOverItsBurst_whenGetAllEmployees_thenTooManyRequestsForThatClientOnly() throws Exception {
+        // given precondition
+        given(employeeService.getAllEmployees()).willReturn(List.of());
+        mockMvc.perform(get("/api/employees").header("X-Client-Id", "noisy")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/employees").header("X-Client-Id", "noisy")).andExpect(status().isOk());
+        // when action or behaviour, then expected result
+        mockMvc.perform(get("/api/employees").header("X-Client-Id", "noisy"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists(HttpHeaders.RETRY_AFTER));
+        mockMvc.perform(get("/api/employees").header("X-Client-Id", "quiet"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    public void givenStreamInFlight_whenSecondStream_thenServiceUnavailableUntilItCompletes() throws Exception {
+        // given precondition
+        willAnswer(invocation -> {
+            Consumer<Employee> consumer = invocation.getArgument(0);
+            consumer.accept(Employee.builder().firstName("William").build());
+            return null;
+        }).given(employeeService).streamEmployees(ArgumentMatchers.<Consumer<Employee>>any());
+        MvcResult first = mockMvc.perform(get("/api/employees").header("X-Client-Id", "a")
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        // when action or behaviour
+        mockMvc.perform(get("/api/employees").header("X-Client-Id", "b")
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
+        mockMvc.perform(asyncDispatch(first)).andExpect(status().isOk());
+        // then expected result
+        MvcResult third = mockMvc.perform(get("/api/employees").header("X-Client-Id", "c")
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(third)).andExpect(status().isOk());
+    }
+
+    @Test
+    public void givenStreamInFlight_whenGetOtherEndpoint_thenServiceUnavailableFromGlobalLimit() throws Exception {
+        // given precondition
+        willAnswer(invocation -> null).given(employeeService).streamEmployees(ArgumentMatchers.<Consumer<Employee>>any());
+        given(employeeService.getEmployeeById(1L)).willReturn(Optional.of(Employee.builder().id(1L).build()));
+        MvcResult stream = mockMvc.perform(get("/api/employees").header("X-Client-Id", "streamer")
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        // when action or behaviour
+        mockMvc.perform(get("/api/employees/{id}", 1L).header("X-Client-Id", "reader-1"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
+        mockMvc.perform(asyncDispatch(stream)).andExpect(status().isOk());
+        // then expected result
+        mockMvc.perform(get("/api/employees/{id}", 1L).header("X-Client-Id", "reader-2"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    public void givenLimitReached_whenSubscribingToChanges_thenEventStreamNotCounted() throws Exception {
+        // given precondition
+        given(employeeChangeFeed.subscribe(any())).willAnswer(invocation -> new SseEmitter());
+        // when action or behaviour, then expected result
+        mockMvc.perform(get("/api/employees/changes").header("X-Client-Id", "subscriber-1")
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted());
+        mockMvc.perform(get("/api/employees/changes").header("X-Client-Id", "subscriber-2")
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted());
+    }
+}
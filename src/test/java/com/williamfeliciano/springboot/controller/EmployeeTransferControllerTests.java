@@ -0,0 +1,137 @@
+package com.williamfeliciano.springboot.controller;
+
+import com.williamfeliciano.springboot.codec.EmployeeCsvWriter;
+import com.williamfeliciano.springboot.dto.ImportResult;
+import com.williamfeliciano.springboot.model.Employee;
+import com.williamfeliciano.springboot.service.EmployeeImporter;
+import com.williamfeliciano.springboot.service.EmployeeService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.CoreMatchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(EmployeeTransferController.class)
+public class EmployeeTransferControllerTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @MockBean
+    private EmployeeService employeeService;
+    @MockBean
+    private EmployeeImporter employeeImporter;
+
+    private final List<Employee> imported = new ArrayList<>();
+
+    @Test
+    public void givenGzippedNdjson_whenImportEmployees_thenEmployeesParsedAndImported() throws Exception {
+        // given precondition
+        given(employeeImporter.importEmployees(any())).willAnswer(invocation -> {
+            Iterator<Employee> employees = invocation.getArgument(0);
+            employees.forEachRemaining(imported::add);
+            return new ImportResult(imported.size(), 0, List.of());
+        });
+        byte[] body = gzip("{\"firstName\":\"William\",\"lastName\":\"Feliciano\",\"email\":\"wf@gmail.com\"}\n"
+                + "{\"firstName\":\"John\",\"lastName\":\"Cena\",\"email\":\"cena@gmail.com\"}\n");
+        // when action or behaviour
+        mockMvc.perform(post("/api/employees/import")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                        .content(body))
+                // then expected result
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created", is(2)));
+        assertThat(imported).extracting(Employee::getEmail).containsExactly("wf@gmail.com", "cena@gmail.com");
+    }
+
+    @Test
+    public void givenCsv_whenImportEmployees_thenEmployeesParsedAndImported() throws Exception {
+        // given precondition
+        given(employeeImporter.importEmployees(any())).willAnswer(invocation -> {
+            Iterator<Employee> employees = invocation.getArgument(0);
+            employees.forEachRemaining(imported::add);
+            return new ImportResult(imported.size(), 0, List.of());
+        });
+        // when action or behaviour
+        mockMvc.perform(post("/api/employees/import")
+                        .contentType(EmployeeTransferController.TEXT_CSV_VALUE)
+                        .content("firstName,lastName,email\nWilliam,Feliciano,wf@gmail.com\n"))
+                // then expected result
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created", is(1)));
+        assertThat(imported).extracting(Employee::getLastName).containsExactly("Feliciano");
+    }
+
+    @Test
+    public void givenMalformedRecord_whenImportEmployees_thenBadRequest() throws Exception {
+        // given precondition
+        given(employeeImporter.importEmployees(any())).willThrow(new IllegalArgumentException("Malformed record 3"));
+        // when action or behaviour, then expected result
+        mockMvc.perform(post("/api/employees/import")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("{"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void givenEmployees_whenExportCsv_thenStreamCsvAttachment() throws Exception {
+        // given precondition
+        willAnswer(invocation -> {
+            Consumer<Employee> consumer = invocation.getArgument(0);
+            consumer.accept(Employee.builder()
+                    .id(1L).firstName("William").lastName("Feliciano").email("wf@gmail.com").version(0L).build());
+            return null;
+        }).given(employeeService).streamEmployees(any());
+        // when action or behaviour
+        MvcResult result = mockMvc.perform(get("/api/employees/export").param("format", "csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        // then expected result
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(EmployeeTransferController.TEXT_CSV_VALUE))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"employees.csv\""))
+                .andExpect(content().string(EmployeeCsvWriter.HEADER + "\r\n1,William,Feliciano,wf@gmail.com,0\r\n"));
+    }
+
+    @Test
+    public void givenUnknownFormat_whenExport_thenBadRequest() throws Exception {
+        // when action or behaviour, then expected result
+        mockMvc.perform(get("/api/employees/export").param("format", "xml"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private static byte[] gzip(String text) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+            gzip.write(text.getBytes(StandardCharsets.UTF_8));
+        }
+        return bytes.toByteArray();
+    }
+}
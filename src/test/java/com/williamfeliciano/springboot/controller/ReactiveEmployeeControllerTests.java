@@ -0,0 +1,184 @@
+package com.williamfeliciano.springboot.controller;
+
+import com.williamfeliciano.springboot.model.Employee;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureWebTestClient
+@ActiveProfiles("reactive")
+public class ReactiveEmployeeControllerTests {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    private Employee employee;
+
+    @BeforeEach
+    public void setup() {
+        // Each test uses its own email so they don't collide on the shared database
+        employee = Employee.builder()
+                .firstName("William")
+                .lastName("Feliciano")
+                .email(System.nanoTime() + "wf@gmail.com")
+                .build();
+    }
+
+    private Employee create(Employee employee) {
+        return webTestClient.post().uri("/api/employees")
+                .bodyValue(employee)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(Employee.class)
+                .returnResult()
+                .getResponseBody();
+    }
+
+    @Test
+    public void givenEmployeeObj_whenSaveEmployee_returnSavedEmployee() {
+        // when action or behaviour
+        Employee savedEmployee = create(employee);
+
+        // then expected result
+        assertThat(savedEmployee.getId()).isNotNull();
+        webTestClient.get().uri("/api/employees/{id}", savedEmployee.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.firstName").isEqualTo(employee.getFirstName())
+                .jsonPath("$.email").isEqualTo(employee.getEmail());
+    }
+
+    @Test
+    public void givenEmployeeWithTakenEmail_whenSaveEmployee_returnConflict() {
+        // given precondition
+        create(employee);
+
+        // when action or behaviour, then expected result
+        webTestClient.post().uri("/api/employees")
+                .bodyValue(employee)
+                .exchange()
+                .expectStatus().isEqualTo(409);
+    }
+
+    @Test
+    public void givenSavedEmployees_whenStreamAllEmployees_thenReturnEachAsNdjson() {
+        // given precondition
+        Employee savedEmployee = create(employee);
+
+        // when action or behaviour
+        List<Employee> employees = webTestClient.get().uri("/api/employees")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(Employee.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+
+        // then expected result
+        assertThat(employees).extracting(Employee::getId).contains(savedEmployee.getId());
+    }
+
+    @Test
+    public void givenSavedEmployee_whenUpdateAndDelete_thenChangesAreVisible() {
+        // given precondition
+        Employee savedEmployee = create(employee);
+        Employee employeeUpdate = Employee.builder()
+                .firstName("Will")
+                .lastName("Felici")
+                .email(System.nanoTime() + "wfelici@gmail.com")
+                .build();
+
+        // when action or behaviour
+        webTestClient.put().uri("/api/employees/{id}", savedEmployee.getId())
+                .bodyValue(employeeUpdate)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.firstName").isEqualTo("Will");
+        webTestClient.delete().uri("/api/employees/{id}", savedEmployee.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.firstName").isEqualTo("Will");
+
+        // then expected result
+        webTestClient.get().uri("/api/employees/{id}", savedEmployee.getId())
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    public void givenSavedEmployee_whenUpdateEmployee_thenReturnStoredVersionWithETag() {
+        // given precondition
+        Employee savedEmployee = create(employee);
+        Employee employeeUpdate = Employee.builder()
+                .firstName("Will")
+                .lastName("Felici")
+                .email(employee.getEmail())
+                .build();
+
+        // when action or behaviour, then expected result
+        webTestClient.put().uri("/api/employees/{id}", savedEmployee.getId())
+                .header(HttpHeaders.IF_MATCH, "\"0\"")
+                .bodyValue(employeeUpdate)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"1\"")
+                .expectBody()
+                .jsonPath("$.version").isEqualTo(1)
+                .jsonPath("$.firstName").isEqualTo("Will");
+        webTestClient.get().uri("/api/employees/{id}", savedEmployee.getId())
+                .header(HttpHeaders.IF_NONE_MATCH, "\"1\"")
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"1\"");
+    }
+
+    @Test
+    public void givenStaleIfMatch_whenUpdateOrDeleteEmployee_thenPreconditionFailed() {
+        // given precondition
+        Employee savedEmployee = create(employee);
+        webTestClient.put().uri("/api/employees/{id}", savedEmployee.getId())
+                .bodyValue(employee)
+                .exchange()
+                .expectStatus().isOk();
+
+        // when action or behaviour, then expected result
+        webTestClient.put().uri("/api/employees/{id}", savedEmployee.getId())
+                .header(HttpHeaders.IF_MATCH, "\"0\"")
+                .bodyValue(employee)
+                .exchange()
+                .expectStatus().isEqualTo(412);
+        webTestClient.delete().uri("/api/employees/{id}", savedEmployee.getId())
+                .header(HttpHeaders.IF_MATCH, "\"0\"")
+                .exchange()
+                .expectStatus().isEqualTo(412);
+        webTestClient.delete().uri("/api/employees/{id}", savedEmployee.getId())
+                .header(HttpHeaders.IF_MATCH, "\"1\"")
+                .exchange()
+                .expectStatus().isOk();
+    }
+
+    @Test
+    public void givenMissingEmployee_whenUpdateWithIfMatch_thenNotFound() {
+        // when action or behaviour, then expected result
+        webTestClient.put().uri("/api/employees/{id}", Long.MAX_VALUE)
+                .header(HttpHeaders.IF_MATCH, "\"0\"")
+                .bodyValue(employee)
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+}
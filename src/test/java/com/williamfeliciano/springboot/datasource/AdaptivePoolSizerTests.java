@@ -0,0 +1,159 @@
+package com.williamfeliciano.springboot.datasource;
+
+import com.williamfeliciano.springboot.ratelimit.GlobalConcurrencyLimit;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AdaptivePoolSizerTests {
+
+    private HikariDataSource dataSource;
+
+    private Timer acquireTimer;
+
+    private AdaptivePoolSizer poolSizer;
+
+    @BeforeEach
+    public void setup() {
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:" + UUID.randomUUID());
+        dataSource.setPoolName("test-pool");
+        dataSource.setMaximumPoolSize(8);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        // Stands in for the timer Hikari's Micrometer tracker registers
+        acquireTimer = meterRegistry.timer(AdaptivePoolSizer.ACQUIRE_TIMER, "pool", "test-pool");
+        poolSizer = new AdaptivePoolSizer(dataSource, meterRegistry, 4, 12, Duration.ofMillis(5),
+                Duration.ZERO, 3);
+        poolSizer.afterPropertiesSet();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        poolSizer.destroy();
+        dataSource.close();
+    }
+
+    @DisplayName("Test for the pool growing by a quarter while waits exceed the target")
+    @Test
+    public void givenWaitsAboveTarget_whenResize_thenPoolGrowsUpToMaxSize() {
+        // given precondition
+        recordWaits(20);
+
+        // when action or behaviour
+        poolSizer.resize();
+        int firstSize = poolSizer.getPoolSize();
+        recordWaits(20);
+        poolSizer.resize();
+        recordWaits(20);
+        poolSizer.resize();
+
+        // then expected result
+        assertThat(firstSize).isEqualTo(10);
+        assertThat(poolSizer.getPoolSize()).isEqualTo(12);
+        assertThat(dataSource.getMinimumIdle()).isEqualTo(12);
+    }
+
+    @DisplayName("Test for the pool shrinking by one after enough quiet intervals")
+    @Test
+    public void givenQuietIntervals_whenResize_thenPoolShrinksDownToMinSize() {
+        // given precondition
+        recordWaits(0);
+
+        // when action or behaviour
+        poolSizer.resize();
+        poolSizer.resize();
+        int sizeBeforeThirdQuietInterval = poolSizer.getPoolSize();
+        poolSizer.resize();
+
+        // then expected result
+        assertThat(sizeBeforeThirdQuietInterval).isEqualTo(8);
+        assertThat(poolSizer.getPoolSize()).isEqualTo(7);
+        assertThat(dataSource.getMinimumIdle()).isEqualTo(7);
+        for (int i = 0; i < 20; i++) {
+            poolSizer.resize();
+        }
+        assertThat(poolSizer.getPoolSize()).isEqualTo(4);
+    }
+
+    @DisplayName("Test for waits between quiet and the target leaving the pool alone")
+    @Test
+    public void givenWaitsBelowTargetButNotQuiet_whenResize_thenPoolKeepsItsSize() {
+        // given precondition
+
+        // when action or behaviour
+        for (int i = 0; i < 5; i++) {
+            recordWaits(2);
+            poolSizer.resize();
+        }
+
+        // then expected result
+        assertThat(poolSizer.getPoolSize()).isEqualTo(8);
+    }
+
+    @DisplayName("Test for the starting size being brought within the bounds")
+    @Test
+    public void givenPoolLargerThanMaxSize_whenStarted_thenClampedToMaxSize() {
+        // given precondition
+        HikariDataSource largePool = new HikariDataSource();
+        largePool.setMaximumPoolSize(50);
+
+        // when action or behaviour
+        new AdaptivePoolSizer(largePool, new SimpleMeterRegistry(), 4, 12, Duration.ofMillis(5),
+                Duration.ZERO, 3).afterPropertiesSet();
+
+        // then expected result
+        assertThat(largePool.getMaximumPoolSize()).isEqualTo(12);
+        assertThat(largePool.getMinimumIdle()).isEqualTo(12);
+    }
+
+    @DisplayName("Test for the global concurrency limit following the pool as it is resized")
+    @Test
+    public void givenGlobalLimitOfPool_whenPoolResized_thenLimitFollowsPoolSize() {
+        // given precondition
+        GlobalConcurrencyLimit globalLimit = GlobalConcurrencyLimit.ofPool(dataSource);
+        int admittedAtStart = acquireAll(globalLimit);
+
+        // when action or behaviour
+        recordWaits(0);
+        for (int i = 0; i < 3; i++) {
+            poolSizer.resize();
+        }
+        int admittedAfterShrink = acquireAll(globalLimit);
+        recordWaits(20);
+        poolSizer.resize();
+        int admittedAfterGrowth = acquireAll(globalLimit);
+
+        // then expected result
+        assertThat(admittedAtStart).isEqualTo(8);
+        assertThat(admittedAfterShrink).isEqualTo(7);
+        assertThat(admittedAfterGrowth).isEqualTo(8);
+        assertThat(globalLimit.getLimit()).isEqualTo(poolSizer.getPoolSize());
+    }
+
+    // Admits requests until the limit refuses one, then lets them all go again
+    private static int acquireAll(GlobalConcurrencyLimit globalLimit) {
+        int admitted = 0;
+        while (globalLimit.tryAcquire()) {
+            admitted++;
+        }
+        for (int i = 0; i < admitted; i++) {
+            globalLimit.release();
+        }
+        return admitted;
+    }
+
+    private void recordWaits(long millis) {
+        for (int i = 0; i < 10; i++) {
+            acquireTimer.record(Duration.ofMillis(millis));
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.williamfeliciano.springboot.datasource;
+
+import jakarta.servlet.http.Cookie;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ReplicaRoutingDataSourceTests {
+
+    private ReplicaRoutingDataSource routingDataSource;
+
+    private SwitchableDataSource firstReplica;
+
+    private JdbcTemplate jdbcTemplate;
+
+    private TransactionTemplate readWrite;
+
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    public void setup() {
+        // Three unrelated databases, each knowing its own name
+        firstReplica = new SwitchableDataSource(database("replica-0"));
+        routingDataSource = new ReplicaRoutingDataSource(database("primary"),
+                List.of(firstReplica, database("replica-1")), Duration.ZERO);
+        routingDataSource.afterPropertiesSet();
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        ReplicaRoutingContext.close();
+        routingDataSource.destroy();
+    }
+
+    @DisplayName("Test for read-only transactions going to the replicas in turn")
+    @Test
+    public void givenReadOnlyTransactions_whenQuerying_thenReplicasInTurn() {
+        // given precondition
+
+        // when action or behaviour
+        List<String> nodes = List.of(readOnlyNode(), readOnlyNode(), readOnlyNode());
+
+        // then expected result
+        assertThat(nodes).containsExactly("replica-0", "replica-1", "replica-0");
+    }
+
+    @DisplayName("Test for writes and statements outside a transaction going to the primary")
+    @Test
+    public void givenReadWriteOrNoTransaction_whenQuerying_thenPrimary() {
+        // given precondition
+
+        // when action or behaviour
+        String inTransaction = readWrite.execute(status -> node());
+        String withoutTransaction = node();
+
+        // then expected result
+        assertThat(inTransaction).isEqualTo("primary");
+        assertThat(withoutTransaction).isEqualTo("primary");
+    }
+
+    @DisplayName("Test for skipping a failing replica until a health check passes")
+    @Test
+    public void givenReplicaDown_whenQuerying_thenSkippedUntilHealthCheckPasses() {
+        // given precondition
+        firstReplica.down.set(true);
+
+        // when action or behaviour
+        List<String> whileDown = List.of(readOnlyNode(), readOnlyNode(), readOnlyNode());
+        int healthyWhileDown = routingDataSource.getHealthyReplicaCount();
+        firstReplica.down.set(false);
+        routingDataSource.checkHealth();
+
+        // then expected result
+        assertThat(whileDown).containsOnly("primary", "replica-1");
+        assertThat(healthyWhileDown).isEqualTo(1);
+        assertThat(routingDataSource.getHealthyReplicaCount()).isEqualTo(2);
+        assertThat(List.of(readOnlyNode(), readOnlyNode())).containsExactlyInAnyOrder("replica-0", "replica-1");
+    }
+
+    @DisplayName("Test for reads staying on the primary after a write in the same session")
+    @Test
+    public void givenWriteInSession_whenReadingAfterwards_thenPrimary() {
+        // given precondition
+        List<String> notified = new ArrayList<>();
+        ReplicaRoutingContext.open(false, () -> notified.add("written"));
+        String before = readOnlyNode();
+
+        // when action or behaviour
+        readWrite.executeWithoutResult(status -> jdbcTemplate.update("update node set name = name"));
+        String after = readOnlyNode();
+
+        // then expected result
+        assertThat(before).startsWith("replica-");
+        assertThat(after).isEqualTo("primary");
+        assertThat(notified).containsExactly("written");
+    }
+
+    @DisplayName("Test for the read-your-writes cookie pinning and being set by a write")
+    @Test
+    public void givenFilter_whenRequestsWithAndWithoutCookie_thenPinnedAndCookieSet() throws Exception {
+        // given precondition
+        Clock clock = Clock.fixed(Instant.ofEpochMilli(1_000_000), ZoneOffset.UTC);
+        ReadYourWritesFilter filter = new ReadYourWritesFilter(Duration.ofSeconds(5), clock);
+        MockHttpServletRequest pinnedRequest = new MockHttpServletRequest("GET", "/api/employees");
+        pinnedRequest.setCookies(new Cookie(ReadYourWritesFilter.COOKIE_NAME, "1000001"));
+        List<String> nodes = new ArrayList<>();
+        MockHttpServletResponse writeResponse = new MockHttpServletResponse();
+
+        // when action or behaviour
+        filter.doFilter(pinnedRequest, new MockHttpServletResponse(),
+                (request, response) -> nodes.add(readOnlyNode()));
+        filter.doFilter(new MockHttpServletRequest("PUT", "/api/employees/1"), writeResponse,
+                (request, response) -> readWrite.executeWithoutResult(
+                        status -> jdbcTemplate.update("update node set name = name")));
+
+        // then expected result
+        assertThat(nodes).containsExactly("primary");
+        assertThat(writeResponse.getCookie(ReadYourWritesFilter.COOKIE_NAME).getValue()).isEqualTo("1005000");
+        assertThat(ReplicaRoutingContext.isPinnedToPrimary()).isFalse();
+    }
+
+    @DisplayName("Test for a read-your-writes cookie pinning beyond the window")
+    @Test
+    public void givenCookieBeyondWindow_whenRequest_thenNotPinned() throws Exception {
+        // given precondition
+        Clock clock = Clock.fixed(Instant.ofEpochMilli(1_000_000), ZoneOffset.UTC);
+        ReadYourWritesFilter filter = new ReadYourWritesFilter(Duration.ofSeconds(5), clock);
+        MockHttpServletRequest forgedRequest = new MockHttpServletRequest("GET", "/api/employees");
+        forgedRequest.setCookies(new Cookie(ReadYourWritesFilter.COOKIE_NAME, Long.toString(Long.MAX_VALUE)));
+        MockHttpServletRequest issuedRequest = new MockHttpServletRequest("GET", "/api/employees");
+        issuedRequest.setCookies(new Cookie(ReadYourWritesFilter.COOKIE_NAME, "1005000"));
+        List<String> nodes = new ArrayList<>();
+
+        // when action or behaviour
+        filter.doFilter(forgedRequest, new MockHttpServletResponse(),
+                (request, response) -> nodes.add(readOnlyNode()));
+        filter.doFilter(issuedRequest, new MockHttpServletResponse(),
+                (request, response) -> nodes.add(readOnlyNode()));
+
+        // then expected result
+        assertThat(nodes.get(0)).startsWith("replica-");
+        assertThat(nodes.get(1)).isEqualTo("primary");
+    }
+
+    private String readOnlyNode() {
+        return readOnly.execute(status -> node());
+    }
+
+    private String node() {
+        return jdbcTemplate.queryForObject("select name from node", String.class);
+    }
+
+    private static DataSource database(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        new JdbcTemplate(dataSource).execute("create table node (name varchar(20)); insert into node values ('"
+                + name + "')");
+        return dataSource;
+    }
+
+    private static class SwitchableDataSource extends DelegatingDataSource {
+
+        private final AtomicBoolean down = new AtomicBoolean();
+
+        private SwitchableDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (down.get()) {
+                throw new SQLException("Connection refused");
+            }
+            return super.getConnection();
+        }
+    }
+}
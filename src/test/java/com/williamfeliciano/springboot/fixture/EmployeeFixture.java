@@ -0,0 +1,65 @@
+package com.williamfeliciano.springboot.fixture;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * Seeds the employees table of a test database with one INSERT ... SELECT per call instead
+ * of a save per employee. Employee {@code n} of a seeded range is named {@code First<n>
+ * Last<n>} with email {@code employee<n>@fixture.test}, where {@code n} is its id.
+ *
+ * <p>The rows bypass Hibernate, so neither its caches nor {@code EmployeeCache} hear about
+ * them; they are only seen once read. Ids come from {@code employees_seq} like Hibernate's,
+ * so later saves don't collide with them.
+ */
+public class EmployeeFixture {
+
+    /**
+     * Resource lock for test classes using the database of the shared {@code @SpringBootTest}
+     * context, so they don't run concurrently with each other.
+     */
+    public static final String SHARED_DATABASE = "shared-employee-database";
+
+    // allocationSize of employees_seq, Hibernate uses the ids [value, value + 50) of each value
+    private static final int ID_BLOCK_SIZE = 50;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public EmployeeFixture(DataSource dataSource, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    /**
+     * Inserts {@code count} employees with consecutive ids and returns the first id.
+     */
+    public long insertEmployees(int count) {
+        // Reserve whole blocks of the sequence; values are consecutive unless another
+        // transaction draws from it at the same time, which SHARED_DATABASE rules out
+        List<Long> blocks = jdbcTemplate.queryForList(
+                "select next value for employees_seq from system_range(1, ?)",
+                Long.class, (count + ID_BLOCK_SIZE - 1) / ID_BLOCK_SIZE);
+        long firstId = blocks.stream().mapToLong(Long::longValue).min().orElseThrow();
+        jdbcTemplate.update("""
+                insert into employees (id, first_name, last_name, email, version)
+                select ? + x, concat('First', ? + x), concat('Last', ? + x), concat('employee', ? + x, '@fixture.test'), 0
+                from system_range(0, ? - 1)
+                """, firstId, firstId, firstId, firstId, count);
+        return firstId;
+    }
+
+    /**
+     * Empties the employees and employee_changes tables and Hibernate's caches.
+     */
+    public void deleteAll() {
+        jdbcTemplate.update("delete from employee_changes");
+        jdbcTemplate.update("delete from employees");
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+    }
+}
@@ -0,0 +1,40 @@
+package com.williamfeliciano.springboot.fixture;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Collects the SQL Hibernate sends on the current thread, so a test can check the plan of
+ * the statement a repository method really runs. Register it with
+ * {@code spring.jpa.properties.hibernate.session_factory.statement_inspector}.
+ */
+public class RecordingStatementInspector implements StatementInspector {
+
+    private static final ThreadLocal<List<String>> RECORDED = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        List<String> recorded = RECORDED.get();
+        if (recorded != null) {
+            recorded.add(sql);
+        }
+        return sql;
+    }
+
+    /**
+     * Runs {@code action} and returns the statements it sent, in order.
+     */
+    public static List<String> record(Supplier<?> action) {
+        List<String> recorded = new ArrayList<>();
+        RECORDED.set(recorded);
+        try {
+            action.get();
+        } finally {
+            RECORDED.remove();
+        }
+        return recorded;
+    }
+}
@@ -0,0 +1,144 @@
+package com.williamfeliciano.springboot.ratelimit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToLongFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AdaptiveConcurrencyLimitTests {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(5);
+
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(50);
+
+    private static final long HIT = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private static final long MISS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @DisplayName("Test for requests beyond the limit being refused")
+    @Test
+    public void givenLimitReached_whenAcquiring_thenRefusedUntilReleased() {
+        // given precondition
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(2, 1, 2, 2.0);
+        int first = limit.tryAcquire();
+        int second = limit.tryAcquire();
+
+        // when action or behaviour
+        int refused = limit.tryAcquire();
+        limit.release(FAST, first);
+        int afterRelease = limit.tryAcquire();
+
+        // then expected result
+        assertThat(first).isZero();
+        assertThat(second).isEqualTo(1);
+        assertThat(refused).isEqualTo(-1);
+        assertThat(afterRelease).isEqualTo(1);
+    }
+
+    @DisplayName("Test for queueing under load shrinking the limit down to its minimum")
+    @Test
+    public void givenQueueingUnderLoad_whenReleasing_thenLimitShrinks() {
+        // given precondition
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 2, 10, 2.0);
+        runWindows(limit, 1, Integer.MAX_VALUE, random -> FAST);
+
+        // when action or behaviour
+        runWindows(limit, 1, Integer.MAX_VALUE, random -> SLOW);
+        int afterOneSlowWindow = limit.getLimit();
+        runWindows(limit, 20, Integer.MAX_VALUE, random -> SLOW);
+
+        // then expected result
+        assertThat(afterOneSlowWindow).isEqualTo(9);
+        assertThat(limit.getLimit()).isEqualTo(2);
+    }
+
+    @DisplayName("Test for slow requests with little in flight leaving the limit alone")
+    @Test
+    public void givenSlowRequestsOneAtATime_whenReleasing_thenLimitUnchanged() {
+        // given precondition
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 2, 10, 2.0);
+        runWindows(limit, 5, 1, random -> FAST);
+
+        // when action or behaviour
+        runWindows(limit, 50, 1, random -> SLOW);
+
+        // then expected result
+        assertThat(limit.getLimit()).isEqualTo(10);
+    }
+
+    @DisplayName("Test for a mix of cache hits and misses one at a time leaving the limit alone")
+    @Test
+    public void givenBimodalLatencyOneAtATime_whenReleasing_thenLimitUnchanged() {
+        // given precondition
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 2, 10, 2.0);
+
+        // when action or behaviour
+        runWindows(limit, 500, 1, AdaptiveConcurrencyLimitTests::hitOrMiss);
+
+        // then expected result
+        assertThat(limit.getLimit()).isEqualTo(10);
+    }
+
+    @DisplayName("Test for a mix of cache hits and misses under load leaving the limit alone")
+    @Test
+    public void givenBimodalLatencyUnderLoad_whenReleasing_thenLimitUnchanged() {
+        // given precondition
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 2, 10, 2.0);
+
+        // when action or behaviour
+        runWindows(limit, 500, Integer.MAX_VALUE, AdaptiveConcurrencyLimitTests::hitOrMiss);
+
+        // then expected result
+        assertThat(limit.getLimit()).isEqualTo(10);
+    }
+
+    @DisplayName("Test for fast requests under load growing the limit back to its maximum")
+    @Test
+    public void givenFastRequestsUnderLoad_whenReleasing_thenLimitGrowsToMaximum() {
+        // given precondition
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(2, 1, 8, 2.0);
+
+        // when action or behaviour
+        for (int i = 0; i < 500; i++) {
+            int[] inFlight = new int[limit.getLimit()];
+            for (int j = 0; j < inFlight.length; j++) {
+                inFlight[j] = limit.tryAcquire();
+            }
+            for (int before : inFlight) {
+                limit.release(FAST, before);
+            }
+        }
+
+        // then expected result
+        assertThat(limit.getLimit()).isEqualTo(8);
+        assertThat(limit.getInFlight()).isZero();
+    }
+
+    // 90% of requests take 50 us, the rest 1 ms
+    private static long hitOrMiss(Random random) {
+        return random.nextInt(10) == 0 ? MISS : HIT;
+    }
+
+    // Releases at least windows windows' worth of requests, in batches of up to concurrency
+    // requests in flight at once
+    private static void runWindows(AdaptiveConcurrencyLimit limit, int windows, int concurrency,
+                                   ToLongFunction<Random> latency) {
+        Random random = new Random(42);
+        int released = 0;
+        while (released < windows * AdaptiveConcurrencyLimit.WINDOW_SIZE) {
+            int batch = Math.min(concurrency, limit.getLimit());
+            int[] inFlight = new int[batch];
+            for (int i = 0; i < batch; i++) {
+                inFlight[i] = limit.tryAcquire();
+            }
+            for (int before : inFlight) {
+                limit.release(latency.applyAsLong(random), before);
+            }
+            released += batch;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.williamfeliciano.springboot.ratelimit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TokenBucketTests {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @DisplayName("Test for a full bucket allowing a burst and then refilling at its rate")
+    @Test
+    public void givenFullBucket_whenBurstExceeded_thenRejectedUntilRefilled() {
+        // given precondition
+        TokenBucket bucket = new TokenBucket(10, 3);
+        long now = 42 * SECOND;
+
+        // when action or behaviour
+        long[] burst = {bucket.tryAcquire(now), bucket.tryAcquire(now), bucket.tryAcquire(now)};
+        long wait = bucket.tryAcquire(now);
+        long afterWait = bucket.tryAcquire(now + wait);
+
+        // then expected result
+        assertThat(burst).containsOnly(0L);
+        assertThat(wait).isEqualTo(SECOND / 10);
+        assertThat(afterWait).isZero();
+        assertThat(bucket.tryAcquire(now + wait)).isPositive();
+    }
+
+    @DisplayName("Test for concurrent callers taking exactly the available tokens")
+    @Test
+    public void givenConcurrentCallers_whenAcquiring_thenExactlyCapacityGranted() throws Exception {
+        // given precondition
+        TokenBucket bucket = new TokenBucket(0.001, 100);
+        long now = System.nanoTime();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> results = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                int granted = 0;
+                for (int j = 0; j < 50; j++) {
+                    if (bucket.tryAcquire(now) == 0) {
+                        granted++;
+                    }
+                }
+                return granted;
+            }));
+        }
+
+        // when action or behaviour
+        start.countDown();
+        int granted = 0;
+        for (Future<Integer> result : results) {
+            granted += result.get();
+        }
+        executor.shutdown();
+
+        // then expected result
+        assertThat(granted).isEqualTo(100);
+    }
+}
@@ -0,0 +1,119 @@
+package com.williamfeliciano.springboot.repository;
+
+import com.williamfeliciano.springboot.model.Employee;
+import com.williamfeliciano.springboot.service.EmployeeCache;
+import com.williamfeliciano.springboot.service.EmployeeCacheWarmer;
+import com.williamfeliciano.springboot.service.EmployeeService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// A fresh database directory per run; the context only starts if the Flyway schema passes
+// Hibernate's validation
+@SpringBootTest(properties = "employee.h2.data-dir=./target/persistent-profile-tests/${random.uuid}")
+@ActiveProfiles("persistent")
+public class EmployeePersistentProfileTests {
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private EmployeeCache employeeCache;
+
+    @Autowired
+    private EmployeeCacheWarmer employeeCacheWarmer;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    public void tearDown() {
+        employeeRepository.deleteAll();
+        employeeCache.invalidateAll();
+    }
+
+    @DisplayName("Test for the schema being created by the Flyway migration")
+    @Test
+    public void givenPersistentProfile_whenStarted_thenSchemaMigratedByFlyway() {
+        // given precondition
+
+        // when action or behaviour
+        List<String> versions = jdbcTemplate.queryForList(
+                "select \"version\" from \"flyway_schema_history\" where \"type\" = 'SQL' and \"success\"", String.class);
+        Employee savedEmployee = employeeService.saveEmployee(Employee.builder()
+                .firstName("William")
+                .lastName("Feliciano")
+                .email("persistent@gmail.com")
+                .build());
+
+        // then expected result
+        assertThat(versions).containsExactly("1");
+        assertThat(employeeRepository.findByEmail("persistent@gmail.com"))
+                .map(Employee::getId).contains(savedEmployee.getId());
+    }
+
+    @DisplayName("Test for the warm-up loading the newest employees into the cache")
+    @Test
+    public void givenSavedEmployees_whenWarmUpRuns_thenLookupsServedFromCache() throws Exception {
+        // given precondition
+        Employee first = employeeService.saveEmployee(Employee.builder()
+                .firstName("William")
+                .lastName("Feliciano")
+                .email("first@gmail.com")
+                .build());
+        Employee second = employeeService.saveEmployee(Employee.builder()
+                .firstName("John")
+                .lastName("Cena")
+                .email("second@gmail.com")
+                .build());
+        employeeCache.invalidateAll();
+
+        // when action or behaviour
+        employeeCacheWarmer.run(new DefaultApplicationArguments());
+
+        // then expected result
+        assertThat(employeeCache.get(first.getId(), id -> Optional.empty()))
+                .map(Employee::getEmail).contains("first@gmail.com");
+        assertThat(employeeCache.get(second.getId(), id -> Optional.empty()))
+                .map(Employee::getEmail).contains("second@gmail.com");
+    }
+
+    @DisplayName("Test for the warm-up leaving entries put by later writes alone")
+    @Test
+    public void givenNewerCachedEmployee_whenWarmUpRuns_thenCachedEmployeeKept() throws Exception {
+        // given precondition
+        Employee saved = employeeService.saveEmployee(Employee.builder()
+                .firstName("William")
+                .lastName("Feliciano")
+                .email("warm@gmail.com")
+                .build());
+        employeeCache.invalidateAll();
+        employeeCache.put(Employee.builder()
+                .id(saved.getId())
+                .firstName("Will")
+                .lastName("Feliciano")
+                .email("warm@gmail.com")
+                .version(saved.getVersion() + 1)
+                .build());
+
+        // when action or behaviour
+        employeeCacheWarmer.run(new DefaultApplicationArguments());
+
+        // then expected result
+        assertThat(employeeCache.get(saved.getId(), id -> Optional.empty()))
+                .map(Employee::getFirstName).contains("Will");
+    }
+}
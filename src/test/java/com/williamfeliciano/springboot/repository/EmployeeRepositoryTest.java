@@ -1,25 +1,52 @@
 package com.williamfeliciano.springboot.repository;
 
+import com.williamfeliciano.springboot.config.HibernateCacheConfig;
+import com.williamfeliciano.springboot.fixture.EmployeeFixture;
+import com.williamfeliciano.springboot.fixture.RecordingStatementInspector;
 import com.williamfeliciano.springboot.model.Employee;
+import com.williamfeliciano.springboot.model.EmployeeField;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import org.hibernate.Session;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 
+import javax.sql.DataSource;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
 
 
-@DataJpaTest
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.williamfeliciano.springboot.fixture.RecordingStatementInspector")
+// Hibernate needs the second-level cache regions, which the JPA slice leaves out
+@Import(HibernateCacheConfig.class)
 public class EmployeeRepositoryTest {
 
     @Autowired
     private EmployeeRepository employeeRepository;
 
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    @Autowired
+    private DataSource dataSource;
+
     private Employee employee;
 
     @BeforeEach
@@ -129,4 +156,212 @@ public class EmployeeRepositoryTest {
         assertThat(deletedEmployee).isEmpty();
     }
 
+    @DisplayName("Junit test for keyset page of employees operation")
+    @Test
+    public void givenManyEmployees_whenFindByIdGreaterThan_thenReturnNextPageInIdOrder() {
+        // given precondition
+        Employee employee2 = Employee.builder()
+                .firstName("John")
+                .lastName("Cena")
+                .email("cena@gmail.com")
+                .build();
+        Employee employee3 = Employee.builder()
+                .firstName("Jane")
+                .lastName("Doe")
+                .email("jdoe@gmail.com")
+                .build();
+        Employee first = employeeRepository.save(employee);
+        employeeRepository.save(employee2);
+        employeeRepository.save(employee3);
+
+        // when action or behaviour
+        List<Employee> page = employeeRepository.findByIdGreaterThanOrderByIdAsc(first.getId(), PageRequest.ofSize(1));
+
+        // then expected result
+        assertThat(page).hasSize(1);
+        assertThat(page.get(0).getFirstName()).isEqualTo("John");
+    }
+
+    @DisplayName("Junit test for reading selected employee fields operation")
+    @Test
+    public void givenManyEmployees_whenFindFieldsByIdGreaterThan_thenReturnOnlyRequestedFields() {
+        // given precondition
+        Employee employee2 = Employee.builder()
+                .firstName("John")
+                .lastName("Cena")
+                .email("cena@gmail.com")
+                .build();
+        Employee first = employeeRepository.save(employee);
+        Employee second = employeeRepository.save(employee2);
+
+        // when action or behaviour
+        List<Map<String, Object>> rows = employeeRepository.findFieldsByIdGreaterThan(
+                EnumSet.of(EmployeeField.EMAIL), first.getId() - 1, 10);
+
+        // then expected result
+        assertThat(rows).containsExactly(
+                Map.of("id", first.getId(), "email", "williamF@gmail.com"),
+                Map.of("id", second.getId(), "email", "cena@gmail.com"));
+    }
+
+    @DisplayName("Junit test for streaming all employees operation")
+    @Test
+    public void givenManyEmployees_whenStreamAll_thenEmployeesInIdOrder() {
+        // given precondition
+        Employee employee2 = Employee.builder()
+                .firstName("John")
+                .lastName("Cena")
+                .email("cena@gmail.com")
+                .build();
+        employeeRepository.save(employee);
+        employeeRepository.save(employee2);
+
+        // when action or behaviour
+        List<String> firstNames;
+        try (Stream<Employee> employees = employeeRepository.streamAllByOrderByIdAsc()) {
+            firstNames = employees.map(Employee::getFirstName).toList();
+        }
+
+        // then expected result
+        assertThat(firstNames).containsExactly("William", "John");
+    }
+
+    @DisplayName("Junit test for finding which emails are already taken operation")
+    @Test
+    public void givenSavedEmployee_whenFindExistingEmails_thenReturnOnlyTakenEmails() {
+        // given Before Each Employee
+        employeeRepository.save(employee);
+
+        // when action or behaviour
+        Set<String> existingEmails = employeeRepository.findExistingEmails(List.of("williamF@gmail.com", "cena@gmail.com"));
+
+        // then expected result
+        assertThat(existingEmails).containsExactly("williamF@gmail.com");
+    }
+
+    @DisplayName("Junit test for save all employees operation")
+    @Test
+    public void givenManyEmployees_whenSaveAll_thenEachGetsAnId() {
+        // given Before Each Employee
+        Employee employee2 = Employee.builder()
+                .firstName("John")
+                .lastName("Cena")
+                .email("cena@gmail.com")
+                .build();
+
+        // when action or behaviour
+        List<Employee> savedEmployees = employeeRepository.saveAll(List.of(employee, employee2));
+
+        // then expected result
+        assertThat(savedEmployees).extracting(Employee::getId).doesNotContainNull().doesNotHaveDuplicates();
+        assertThat(employeeRepository.count()).isEqualTo(2);
+    }
+
+    @DisplayName("Junit test for last name prefix search operation")
+    @Test
+    public void givenManyEmployees_whenSearchByLastNamePrefix_thenMatchesInLastNameOrder() {
+        // given precondition
+        Employee employee2 = Employee.builder()
+                .firstName("Felipe")
+                .lastName("Felix")
+                .email("felix@gmail.com")
+                .build();
+        Employee employee3 = Employee.builder()
+                .firstName("John")
+                .lastName("Cena")
+                .email("cena@gmail.com")
+                .build();
+        employeeRepository.saveAll(List.of(employee, employee2, employee3));
+
+        // when action or behaviour
+        Slice<Employee> employees = employeeRepository.findByLastNameStartingWithOrderByLastNameAscIdAsc("Fel", PageRequest.ofSize(1));
+
+        // then expected result
+        assertThat(employees.getContent()).extracting(Employee::getLastName).containsExactly("Feliciano");
+        assertThat(employees.hasNext()).isTrue();
+    }
+
+    @DisplayName("Junit test for email prefix search operation")
+    @Test
+    public void givenManyEmployees_whenSearchByEmailPrefix_thenMatchesInEmailOrder() {
+        // given precondition
+        Employee employee2 = Employee.builder()
+                .firstName("Will")
+                .lastName("Smith")
+                .email("will@gmail.com")
+                .build();
+        employeeRepository.saveAll(List.of(employee2, employee));
+
+        // when action or behaviour
+        Slice<Employee> employees = employeeRepository.findByEmailStartingWithOrderByEmailAsc("wi", PageRequest.ofSize(10));
+
+        // then expected result
+        assertThat(employees.getContent()).extracting(Employee::getEmail).containsExactly("will@gmail.com", "williamF@gmail.com");
+        assertThat(employees.hasNext()).isFalse();
+    }
+
+    @DisplayName("Junit test that last name prefix search uses the last name index")
+    @Test
+    public void givenLastNameSearchQuery_whenExplained_thenUsesIndexForRangeAndSort() {
+        String plan = explain(() -> employeeRepository.findByLastNameStartingWithOrderByLastNameAscIdAsc(
+                "Fel", PageRequest.of(1, 20)), "Fel%");
+
+        assertThat(plan).containsIgnoringCase(Employee.LAST_NAME_INDEX).contains("index sorted").doesNotContain("tableScan");
+    }
+
+    @DisplayName("Junit test that email prefix search uses the email index")
+    @Test
+    public void givenEmailSearchQuery_whenExplained_thenUsesIndexForRangeAndSort() {
+        String plan = explain(() -> employeeRepository.findByEmailStartingWithOrderByEmailAsc(
+                "wi", PageRequest.of(1, 20)), "wi%");
+
+        assertThat(plan).containsIgnoringCase(Employee.EMAIL_UNIQUE_CONSTRAINT).contains("index sorted").doesNotContain("tableScan");
+    }
+
+    @DisplayName("Junit test that last name and email prefix search uses the last name index")
+    @Test
+    public void givenLastNameAndEmailSearchQuery_whenExplained_thenUsesIndexForRangeAndSort() {
+        String plan = explain(() -> employeeRepository.findByLastNameStartingWithAndEmailStartingWithOrderByLastNameAscIdAsc(
+                "Fel", "wi", PageRequest.of(1, 20)), "Fel%", "wi%");
+
+        assertThat(plan).containsIgnoringCase(Employee.LAST_NAME_INDEX).contains("index sorted").doesNotContain("tableScan");
+    }
+
+    @DisplayName("Junit test for saving an employee after seeding the table in bulk")
+    @Test
+    public void givenBulkSeededEmployees_whenSaved_thenIdDoesNotCollide() {
+        // given precondition
+        EmployeeFixture employeeFixture = new EmployeeFixture(
+                dataSource, testEntityManager.getEntityManager().getEntityManagerFactory());
+        long firstId = employeeFixture.insertEmployees(120);
+
+        // when action or behaviour
+        Employee savedEmployee = employeeRepository.saveAndFlush(employee);
+
+        // then expected result
+        assertThat(savedEmployee.getId()).isNotIn(LongStream.range(firstId, firstId + 120).boxed().toList());
+        assertThat(employeeRepository.count()).isEqualTo(121);
+        assertThat(employeeRepository.findById(firstId + 119)).map(Employee::getEmail)
+                .contains("employee" + (firstId + 119) + "@fixture.test");
+    }
+
+    // Explains the statement the repository method sends, with the search parameters bound
+    // first and the page's offset and row count after them
+    private String explain(Supplier<?> query, Object... parameters) {
+        List<String> statements = RecordingStatementInspector.record(query);
+        assertThat(statements).hasSize(1);
+        return testEntityManager.getEntityManager().unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement("explain " + statements.get(0))) {
+                int count = statement.getParameterMetaData().getParameterCount();
+                for (int i = 0; i < count; i++) {
+                    statement.setObject(i + 1, i < parameters.length ? parameters[i] : 20);
+                }
+                try (ResultSet plan = statement.executeQuery()) {
+                    plan.next();
+                    return plan.getString(1);
+                }
+            }
+        });
+    }
+
 }
@@ -0,0 +1,137 @@
+package com.williamfeliciano.springboot.service;
+
+import com.williamfeliciano.springboot.datasource.ReplicaRoutingContext;
+import com.williamfeliciano.springboot.model.Employee;
+import com.williamfeliciano.springboot.model.EmployeeChange;
+import com.williamfeliciano.springboot.repository.EmployeeChangeRepository;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+/**
+ * Runs the change feed against a primary and a replica that has the later of two changes
+ * but not the earlier one, as a replica applying them out of order would.
+ */
+@SpringBootTest(properties = {
+        "employee.datasource.replicas.enabled=true",
+        "employee.datasource.replicas.urls=" + EmployeeChangeFeedReplicaTests.REPLICA_URL,
+        "employee.datasource.replicas.health-check-interval=0s",
+        "spring.datasource.hikari.minimum-idle=1"
+})
+@AutoConfigureMockMvc
+public class EmployeeChangeFeedReplicaTests {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:change-feed-replica;DB_CLOSE_DELAY=-1";
+
+    private static final Pattern EVENT_ID = Pattern.compile("^id:(\\d+)$", Pattern.MULTILINE);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private EmployeeChangeFeed employeeChangeFeed;
+
+    @Autowired
+    private EmployeeChangeRepository employeeChangeRepository;
+
+    private JdbcTemplate replica;
+
+    @BeforeEach
+    public void setup() {
+        JdbcDataSource replicaDataSource = new JdbcDataSource();
+        replicaDataSource.setURL(REPLICA_URL);
+        replicaDataSource.setUser("sa");
+        replica = new JdbcTemplate(replicaDataSource);
+        replica.execute("create table employee_changes (seq bigint primary key, type varchar(16) not null, "
+                + "employee_id bigint not null, first_name varchar(255), last_name varchar(255), "
+                + "email varchar(255), version bigint, changed_at timestamp(6) with time zone not null)");
+    }
+
+    @AfterEach
+    public void tearDown() {
+        replica.execute("drop table employee_changes");
+    }
+
+    @DisplayName("Test that the change feed is read from the primary, not a lagging replica")
+    @Test
+    public void givenReplicaMissingEarlierChange_whenReadingChanges_thenNoGap() throws Exception {
+        // given precondition
+        long since = employeeChangeRepository.findLatestSeq();
+        employeeService.saveEmployee(Employee.builder()
+                .firstName("William")
+                .lastName("Feliciano")
+                .email("first@gmail.com")
+                .build());
+        employeeService.saveEmployee(Employee.builder()
+                .firstName("John")
+                .lastName("Cena")
+                .email("second@gmail.com")
+                .build());
+        List<EmployeeChange> committed = ReplicaRoutingContext.onPrimary(
+                () -> employeeChangeRepository.findAll(Sort.by("seq")));
+        EmployeeChange later = committed.get(1);
+        replica.update("insert into employee_changes (seq, type, employee_id, first_name, last_name, email, version, "
+                        + "changed_at) values (?, ?, ?, ?, ?, ?, ?, ?)", later.getSeq(), later.getType().name(),
+                later.getEmployeeId(), later.getFirstName(), later.getLastName(), later.getEmail(),
+                later.getVersion(), Timestamp.from(later.getChangedAt()));
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        // when action or behaviour
+        List<EmployeeChange> onReplica = readOnly.execute(status -> employeeChangeRepository.findAll());
+        List<EmployeeChange> page = employeeChangeFeed.getChanges(since, 100).getContent();
+        MvcResult subscriber = mockMvc.perform(get("/api/employees/changes")
+                        .param("since", String.valueOf(since))
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // then expected result
+        assertThat(onReplica).extracting(EmployeeChange::getSeq).containsExactly(later.getSeq());
+        assertThat(page).extracting(EmployeeChange::getSeq)
+                .containsExactly(committed.get(0).getSeq(), later.getSeq());
+        assertThat(streamedEventIds(subscriber, 2)).containsExactly(committed.get(0).getSeq(), later.getSeq());
+    }
+
+    // Waits for the subscriber to have been sent count events
+    private static List<Long> streamedEventIds(MvcResult subscriber, int count) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        List<Long> ids;
+        do {
+            ids = EVENT_ID.matcher(subscriber.getResponse().getContentAsString()).results()
+                    .map(result -> Long.valueOf(result.group(1)))
+                    .toList();
+            if (ids.size() < count) {
+                Thread.sleep(20);
+            }
+        } while (ids.size() < count && System.nanoTime() < deadline);
+        return ids;
+    }
+}
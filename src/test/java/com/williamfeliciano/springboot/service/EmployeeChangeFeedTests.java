@@ -0,0 +1,183 @@
+package com.williamfeliciano.springboot.service;
+
+import com.williamfeliciano.springboot.dto.CursorPage;
+import com.williamfeliciano.springboot.exception.ResourceConflictException;
+import com.williamfeliciano.springboot.fixture.EmployeeFixture;
+import com.williamfeliciano.springboot.model.Employee;
+import com.williamfeliciano.springboot.model.EmployeeChange;
+import com.williamfeliciano.springboot.repository.EmployeeChangeRepository;
+import com.williamfeliciano.springboot.repository.EmployeeRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.ResourceLock;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ResourceLock(EmployeeFixture.SHARED_DATABASE)
+public class EmployeeChangeFeedTests {
+
+    private static final Pattern EVENT_ID = Pattern.compile("^id:(\\d+)$", Pattern.MULTILINE);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private EmployeeChangeFeed employeeChangeFeed;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private EmployeeChangeRepository employeeChangeRepository;
+
+    @AfterEach
+    public void tearDown() {
+        employeeRepository.deleteAll();
+        employeeChangeRepository.deleteAll();
+    }
+
+    @DisplayName("Test that employee mutations are recorded in the change feed in order")
+    @Test
+    public void givenCreateUpdateDelete_whenGetChanges_thenChangesInSequenceOrder() {
+        // given precondition
+        long since = employeeChangeRepository.findLatestSeq();
+        Employee employee = employeeService.saveEmployee(Employee.builder()
+                .firstName("William")
+                .lastName("Feliciano")
+                .email("feed@gmail.com")
+                .build());
+        employeeService.updateEmployee(employee.getId(), Employee.builder()
+                .firstName("Will")
+                .lastName("Feliciano")
+                .email("feed@gmail.com")
+                .build());
+        employeeService.deleteEmployee(employee.getId());
+
+        // when action or behaviour
+        CursorPage<EmployeeChange> changes = employeeChangeFeed.getChanges(since, 100);
+
+        // then expected result
+        assertThat(changes.getContent()).extracting(EmployeeChange::getType).containsExactly(
+                EmployeeChange.Type.CREATED, EmployeeChange.Type.UPDATED, EmployeeChange.Type.DELETED);
+        assertThat(changes.getContent()).extracting(EmployeeChange::getEmployeeId).containsOnly(employee.getId());
+        assertThat(changes.getContent().get(1).getFirstName()).isEqualTo("Will");
+        assertThat(changes.getNextCursor()).isNull();
+    }
+
+    @DisplayName("Test that a rejected mutation leaves no change behind")
+    @Test
+    public void givenDuplicateEmail_whenSaveEmployee_thenNoChangeRecorded() {
+        // given precondition
+        employeeService.saveEmployee(Employee.builder()
+                .firstName("William")
+                .lastName("Feliciano")
+                .email("taken@gmail.com")
+                .build());
+        long since = employeeChangeRepository.findLatestSeq();
+
+        // when action or behaviour
+        assertThrows(ResourceConflictException.class, () -> employeeService.saveEmployee(Employee.builder()
+                .firstName("John")
+                .lastName("Cena")
+                .email("taken@gmail.com")
+                .build()));
+
+        // then expected result
+        assertThat(employeeChangeFeed.getChanges(since, 100).getContent()).isEmpty();
+    }
+
+    @DisplayName("Test that a change is only exposed once the changes recorded before it commit")
+    @Test
+    public void givenEarlierChangeInFlight_whenLaterChangeCommits_thenHeldBackUntilEarlierCommits() throws Exception {
+        // given precondition
+        long since = employeeChangeRepository.findLatestSeq();
+        MvcResult subscriber = mockMvc.perform(get("/api/employees/changes")
+                        .param("since", String.valueOf(since))
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        CountDownLatch recorded = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Future<Employee> slowWriter = executor.submit(() -> new TransactionTemplate(transactionManager).execute(status -> {
+            Employee employee = employeeService.saveEmployee(Employee.builder()
+                    .firstName("William")
+                    .lastName("Feliciano")
+                    .email("slow@gmail.com")
+                    .build());
+            recorded.countDown();
+            try {
+                commit.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return employee;
+        }));
+        assertThat(recorded.await(10, TimeUnit.SECONDS)).isTrue();
+        Employee fastEmployee = employeeService.saveEmployee(Employee.builder()
+                .firstName("John")
+                .lastName("Cena")
+                .email("fast@gmail.com")
+                .build());
+
+        // when action or behaviour
+        List<EmployeeChange> whileInFlight = employeeChangeFeed.getChanges(since, 100).getContent();
+        Thread.sleep(200);
+        String streamedWhileInFlight = subscriber.getResponse().getContentAsString();
+        commit.countDown();
+        Employee slowEmployee = slowWriter.get(10, TimeUnit.SECONDS);
+        executor.shutdown();
+
+        // then expected result
+        assertThat(whileInFlight).isEmpty();
+        assertThat(streamedWhileInFlight).doesNotContain("id:");
+        List<EmployeeChange> changes = employeeChangeFeed.getChanges(since, 100).getContent();
+        assertThat(changes).extracting(EmployeeChange::getEmployeeId)
+                .containsExactly(slowEmployee.getId(), fastEmployee.getId());
+        assertThat(streamedEventIds(subscriber, 2))
+                .containsExactly(changes.get(0).getSeq(), changes.get(1).getSeq());
+    }
+
+    // Waits for the subscriber to have been sent count events
+    private static List<Long> streamedEventIds(MvcResult subscriber, int count) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        List<Long> ids;
+        do {
+            ids = EVENT_ID.matcher(subscriber.getResponse().getContentAsString()).results()
+                    .map(result -> Long.valueOf(result.group(1)))
+                    .toList();
+            if (ids.size() < count) {
+                Thread.sleep(20);
+            }
+        } while (ids.size() < count && System.nanoTime() < deadline);
+        return ids;
+    }
+}
@@ -0,0 +1,101 @@
+package com.williamfeliciano.springboot.service;
+
+import com.williamfeliciano.springboot.dto.BatchItemResult;
+import com.williamfeliciano.springboot.dto.BatchResult;
+import com.williamfeliciano.springboot.dto.ImportResult;
+import com.williamfeliciano.springboot.model.Employee;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+public class EmployeeImporterTests {
+
+    @Mock
+    private EmployeeService employeeService;
+
+    @InjectMocks
+    private EmployeeImporter employeeImporter;
+
+    @DisplayName("Test for importing employees in chunks operation")
+    @Test
+    public void givenMoreEmployeesThanChunkSize_whenImport_thenSavedInChunksWithFileRecordNumbers() {
+        // given precondition
+        int count = EmployeeImporter.CHUNK_SIZE + 2;
+        given(employeeService.saveEmployees(anyList())).willAnswer(invocation -> {
+            List<Employee> chunk = invocation.getArgument(0);
+            List<BatchItemResult> items = new ArrayList<>();
+            for (int i = 0; i < chunk.size(); i++) {
+                items.add(i == 1 ? BatchItemResult.failed(i, "Email already taken") : BatchItemResult.created(i, (long) i));
+            }
+            return new BatchResult(chunk.size() - 1, 1, items);
+        });
+
+        // when action or behaviour
+        ImportResult result = employeeImporter.importEmployees(employees(count).iterator());
+
+        // then expected result
+        verify(employeeService, times(2)).saveEmployees(anyList());
+        assertThat(result.getCreated()).isEqualTo(count - 2);
+        assertThat(result.getFailed()).isEqualTo(2);
+        assertThat(result.getErrors()).extracting(BatchItemResult::getIndex)
+                .containsExactly(1, EmployeeImporter.CHUNK_SIZE + 1);
+    }
+
+    @DisplayName("Test for importing employees when a record cannot be parsed")
+    @Test
+    public void givenMalformedRecord_whenImport_thenRecordsBeforeItSavedAndExceptionThrown() {
+        // given precondition
+        Iterator<Employee> parsed = employees(2).iterator();
+        Iterator<Employee> employees = new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public Employee next() {
+                if (parsed.hasNext()) {
+                    return parsed.next();
+                }
+                throw new IllegalStateException("Unexpected character");
+            }
+        };
+        given(employeeService.saveEmployees(anyList())).willReturn(new BatchResult(2, 0, List.of(
+                BatchItemResult.created(0, 1L), BatchItemResult.created(1, 2L))));
+
+        // when action or behaviour
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> employeeImporter.importEmployees(employees));
+
+        // then expected result
+        assertThat(e).hasMessageContaining("Malformed record 2");
+        verify(employeeService, times(1)).saveEmployees(anyList());
+    }
+
+    private static List<Employee> employees(int count) {
+        return Stream.iterate(0, i -> i + 1)
+                .limit(count)
+                .map(i -> Employee.builder()
+                        .firstName("First" + i)
+                        .lastName("Last" + i)
+                        .email("employee" + i + "@gmail.com")
+                        .build())
+                .toList();
+    }
+}
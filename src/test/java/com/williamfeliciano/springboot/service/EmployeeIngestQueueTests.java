@@ -0,0 +1,115 @@
+package com.williamfeliciano.springboot.service;
+
+import com.williamfeliciano.springboot.config.EmployeeIngestProperties;
+import com.williamfeliciano.springboot.dto.BatchItemResult;
+import com.williamfeliciano.springboot.dto.BatchResult;
+import com.williamfeliciano.springboot.dto.IngestStatus;
+import com.williamfeliciano.springboot.exception.ResourceConflictException;
+import com.williamfeliciano.springboot.exception.TooManyRequestsException;
+import com.williamfeliciano.springboot.model.Employee;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+public class EmployeeIngestQueueTests {
+
+    @Mock
+    private EmployeeService employeeService;
+
+    private EmployeeIngestProperties properties;
+
+    private EmployeeIngestQueue employeeIngestQueue;
+
+    @BeforeEach
+    public void setUp() {
+        properties = new EmployeeIngestProperties();
+        properties.setCapacity(2);
+        employeeIngestQueue = new EmployeeIngestQueue(employeeService, properties);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        if (employeeIngestQueue.isRunning()) {
+            employeeIngestQueue.stop();
+        }
+    }
+
+    @DisplayName("Test for submitting employees while the queue is full")
+    @Test
+    public void givenFullQueue_whenSubmit_thenThrowsTooManyRequests() {
+        // given precondition
+        employeeIngestQueue.submit(employee("a@gmail.com"));
+        employeeIngestQueue.submit(employee("b@gmail.com"));
+
+        // when action or behaviour, then expected result
+        assertThrows(TooManyRequestsException.class, () -> employeeIngestQueue.submit(employee("c@gmail.com")));
+    }
+
+    @DisplayName("Test that queued employees are written in one batch and flushed on stop")
+    @Test
+    public void givenQueuedEmployees_whenStartedAndStopped_thenWrittenInOneBatch() {
+        // given precondition
+        given(employeeService.saveEmployees(anyList())).willReturn(new BatchResult(1, 1, List.of(
+                BatchItemResult.created(0, 7L), BatchItemResult.failed(1, "Email already taken"))));
+        IngestStatus first = employeeIngestQueue.submit(employee("a@gmail.com"));
+        IngestStatus second = employeeIngestQueue.submit(employee("b@gmail.com"));
+        assertThat(first.getState()).isEqualTo(IngestStatus.State.QUEUED);
+
+        // when action or behaviour
+        employeeIngestQueue.start();
+        employeeIngestQueue.stop();
+
+        // then expected result
+        verify(employeeService, times(1)).saveEmployees(anyList());
+        assertThat(employeeIngestQueue.getStatus(first.getTrackingId()))
+                .contains(IngestStatus.created(first.getTrackingId(), 7L));
+        assertThat(employeeIngestQueue.getStatus(second.getTrackingId()))
+                .contains(IngestStatus.failed(second.getTrackingId(), "Email already taken"));
+        assertThrows(TooManyRequestsException.class, () -> employeeIngestQueue.submit(employee("c@gmail.com")));
+    }
+
+    @DisplayName("Test that a batch losing an email race is retried one by one")
+    @Test
+    public void givenConflictingBatch_whenWritten_thenRetriedOneByOne() {
+        // given precondition
+        given(employeeService.saveEmployees(anyList()))
+                .willThrow(new ResourceConflictException("Email already taken"))
+                .willReturn(new BatchResult(1, 0, List.of(BatchItemResult.created(0, 7L))))
+                .willThrow(new ResourceConflictException("Email already taken"));
+        IngestStatus first = employeeIngestQueue.submit(employee("a@gmail.com"));
+        IngestStatus second = employeeIngestQueue.submit(employee("b@gmail.com"));
+
+        // when action or behaviour
+        employeeIngestQueue.start();
+        employeeIngestQueue.stop();
+
+        // then expected result
+        verify(employeeService, times(3)).saveEmployees(anyList());
+        assertThat(employeeIngestQueue.getStatus(first.getTrackingId()).get().getState())
+                .isEqualTo(IngestStatus.State.CREATED);
+        assertThat(employeeIngestQueue.getStatus(second.getTrackingId()).get().getState())
+                .isEqualTo(IngestStatus.State.FAILED);
+    }
+
+    private static Employee employee(String email) {
+        return Employee.builder()
+                .firstName("William")
+                .lastName("Feliciano")
+                .email(email)
+                .build();
+    }
+}
@@ -0,0 +1,145 @@
+package com.williamfeliciano.springboot.service;
+
+import com.williamfeliciano.springboot.fixture.EmployeeFixture;
+import com.williamfeliciano.springboot.model.Employee;
+import com.williamfeliciano.springboot.repository.EmployeeRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.ResourceLock;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ResourceLock(EmployeeFixture.SHARED_DATABASE)
+public class EmployeeSecondLevelCacheTests {
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    private Employee employee;
+
+    @BeforeEach
+    public void setup() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        employee = employeeService.saveEmployee(Employee.builder()
+                .firstName("William")
+                .lastName("Feliciano")
+                .email("wf@gmail.com")
+                .build());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        employeeRepository.deleteAll();
+    }
+
+    @DisplayName("Test for repeated find by id across transactions not reaching the database")
+    @Test
+    public void givenSavedEmployee_whenFindByIdTwice_thenServedFromSecondLevelCache() {
+        // given precondition
+        statistics.clear();
+
+        // when action or behaviour
+        Optional<Employee> first = employeeRepository.findById(employee.getId());
+        Optional<Employee> second = employeeRepository.findById(employee.getId());
+
+        // then expected result
+        assertThat(first).isPresent();
+        assertThat(second.map(Employee::getEmail)).contains("wf@gmail.com");
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getSecondLevelCacheHitCount()).isEqualTo(2);
+    }
+
+    @DisplayName("Test for repeated find by email across transactions not reaching the database")
+    @Test
+    public void givenCachedQuery_whenFindByEmailAgain_thenServedFromQueryCache() {
+        // given precondition
+        employeeRepository.findByEmail("wf@gmail.com");
+        statistics.clear();
+
+        // when action or behaviour
+        Optional<Employee> found = employeeRepository.findByEmail("wf@gmail.com");
+
+        // then expected result
+        assertThat(found.map(Employee::getId)).contains(employee.getId());
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+    }
+
+    @DisplayName("Test for cached lookups seeing the result of update employee")
+    @Test
+    public void givenCachedEmployee_whenUpdateEmployee_thenLookupsReturnUpdatedEmployee() {
+        // given precondition
+        employeeRepository.findById(employee.getId());
+        employeeRepository.findByEmail("wf@gmail.com");
+        Employee changes = Employee.builder().firstName("Will").lastName("Feliciano").email("will@gmail.com").build();
+
+        // when action or behaviour
+        employeeService.updateEmployee(employee.getId(), changes);
+
+        // then expected result
+        Employee reloaded = employeeRepository.findById(employee.getId()).orElseThrow();
+        assertThat(reloaded.getFirstName()).isEqualTo("Will");
+        assertThat(reloaded.getVersion()).isEqualTo(employee.getVersion() + 1);
+        assertThat(employeeRepository.findByEmail("wf@gmail.com")).isEmpty();
+        assertThat(employeeRepository.findByEmail("will@gmail.com").map(Employee::getFirstName)).contains("Will");
+    }
+
+    @DisplayName("Test for update employee leaving other cached employees in the cache")
+    @Test
+    public void givenTwoCachedEmployees_whenUpdateOne_thenOtherStillServedFromCache() {
+        // given precondition
+        Employee other = employeeService.saveEmployee(Employee.builder()
+                .firstName("John")
+                .lastName("Cena")
+                .email("cena@gmail.com")
+                .build());
+        employeeRepository.findById(employee.getId());
+        employeeRepository.findById(other.getId());
+        Employee changes = Employee.builder().firstName("Will").lastName("Feliciano").email("wf@gmail.com").build();
+
+        // when action or behaviour
+        employeeService.updateEmployee(employee.getId(), changes);
+        statistics.clear();
+        Optional<Employee> cachedOther = employeeRepository.findById(other.getId());
+        Optional<Employee> cachedUpdated = employeeRepository.findById(employee.getId());
+
+        // then expected result
+        assertThat(cachedOther.map(Employee::getEmail)).contains("cena@gmail.com");
+        assertThat(cachedUpdated.map(Employee::getFirstName)).contains("Will");
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getSecondLevelCacheHitCount()).isEqualTo(2);
+    }
+
+    @DisplayName("Test for cached lookups seeing the result of delete employee")
+    @Test
+    public void givenCachedEmployee_whenDeleteEmployee_thenLookupsReturnEmpty() {
+        // given precondition
+        employeeRepository.findById(employee.getId());
+        employeeRepository.findByEmail("wf@gmail.com");
+
+        // when action or behaviour
+        employeeService.deleteEmployee(employee.getId());
+
+        // then expected result
+        assertThat(employeeRepository.findById(employee.getId())).isEmpty();
+        assertThat(employeeRepository.findByEmail("wf@gmail.com")).isEmpty();
+    }
+}
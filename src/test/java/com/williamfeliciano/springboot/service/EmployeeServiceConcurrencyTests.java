@@ -0,0 +1,136 @@
+package com.williamfeliciano.springboot.service;
+
+import com.williamfeliciano.springboot.exception.ResourceConflictException;
+import com.williamfeliciano.springboot.fixture.EmployeeFixture;
+import com.williamfeliciano.springboot.model.Employee;
+import com.williamfeliciano.springboot.repository.EmployeeRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.ResourceLock;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ResourceLock(EmployeeFixture.SHARED_DATABASE)
+public class EmployeeServiceConcurrencyTests {
+
+    private static final int CONCURRENT_REQUESTS = 8;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private EmployeeCache employeeCache;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    public void tearDown() {
+        employeeRepository.deleteAll();
+    }
+
+    @DisplayName("Test for concurrent save employee operations with the same email")
+    @Test
+    public void givenParallelCreatesWithSameEmail_whenSaveEmployee_thenOnlyOneWins() throws Exception {
+        // given precondition
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(CONCURRENT_REQUESTS);
+        List<Future<Employee>> results = new ArrayList<>();
+        for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+            Employee employee = Employee.builder()
+                    .firstName("William" + i)
+                    .lastName("Feliciano")
+                    .email("race@gmail.com")
+                    .build();
+            results.add(executor.submit(() -> {
+                start.await();
+                return employeeService.saveEmployee(employee);
+            }));
+        }
+
+        // when action or behaviour
+        start.countDown();
+        int created = 0;
+        int conflicts = 0;
+        for (Future<Employee> result : results) {
+            try {
+                result.get();
+                created++;
+            } catch (ExecutionException e) {
+                assertThat(e.getCause()).isInstanceOf(ResourceConflictException.class);
+                conflicts++;
+            }
+        }
+        executor.shutdown();
+
+        // then expected result
+        assertThat(created).isEqualTo(1);
+        assertThat(conflicts).isEqualTo(CONCURRENT_REQUESTS - 1);
+        assertThat(employeeRepository.count()).isEqualTo(1);
+    }
+
+    @DisplayName("Test for update employee operation in a transaction that rolls back")
+    @Test
+    public void givenEnclosingTransactionRollsBack_whenUpdateEmployee_thenCachedEmployeeUnchanged() {
+        // given precondition
+        Employee employee = employeeService.saveEmployee(Employee.builder()
+                .firstName("William")
+                .lastName("Feliciano")
+                .email("william@gmail.com")
+                .build());
+        Employee updated = Employee.builder()
+                .firstName("Will")
+                .lastName("Feliciano")
+                .email("will@gmail.com")
+                .build();
+
+        // when action or behaviour
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            employeeService.updateEmployee(employee.getId(), updated);
+            status.setRollbackOnly();
+        });
+
+        // then expected result
+        assertThat(employeeCache.get(employee.getId(), id -> Optional.empty()))
+                .hasValueSatisfying(cached -> assertThat(cached.getEmail()).isEqualTo("william@gmail.com"));
+    }
+
+    @DisplayName("Test for delete employee operation in a transaction that rolls back")
+    @Test
+    public void givenEnclosingTransactionRollsBack_whenDeleteEmployee_thenEmployeeStillCached() {
+        // given precondition
+        Employee employee = employeeService.saveEmployee(Employee.builder()
+                .firstName("William")
+                .lastName("Feliciano")
+                .email("william@gmail.com")
+                .build());
+
+        // when action or behaviour
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            employeeService.deleteEmployee(employee.getId());
+            status.setRollbackOnly();
+        });
+
+        // then expected result
+        assertThat(employeeCache.get(employee.getId(), id -> Optional.empty())).isPresent();
+        assertThat(employeeService.getEmployeeById(employee.getId())).isPresent();
+    }
+}
@@ -0,0 +1,69 @@
+package com.williamfeliciano.springboot.service;
+
+import com.williamfeliciano.springboot.exception.ResourceNotFoundException;
+import com.williamfeliciano.springboot.fixture.EmployeeFixture;
+import com.williamfeliciano.springboot.metrics.NotFoundMetricsAspect;
+import com.williamfeliciano.springboot.model.Employee;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.ResourceLock;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+@ResourceLock(EmployeeFixture.SHARED_DATABASE)
+public class EmployeeServiceMetricsTests {
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @DisplayName("Test for timing employee service operations")
+    @Test
+    public void givenServiceCall_whenSaveEmployee_thenTimerRecorded() {
+        // given precondition
+        Employee employee = Employee.builder()
+                .firstName("William")
+                .lastName("Feliciano")
+                .email("metrics@gmail.com")
+                .build();
+        // when action or behaviour
+        Employee savedEmployee = employeeService.saveEmployee(employee);
+        employeeService.deleteEmployee(savedEmployee.getId());
+
+        // then expected result
+        assertThat(meterRegistry.get("employee.service").tag("method", "saveEmployee").timer().count())
+                .isGreaterThanOrEqualTo(1);
+        assertThat(meterRegistry.get("spring.data.repository.invocations").tag("method", "saveAndFlush").timer().count())
+                .isGreaterThanOrEqualTo(1);
+        assertThat(meterRegistry.find("hibernate.statements").meters()).isNotEmpty();
+        assertThat(meterRegistry.find("hikaricp.connections.acquire").meters()).isNotEmpty();
+    }
+
+    @DisplayName("Test for counting lookups of missing employees by operation")
+    @Test
+    public void givenMissingId_whenLookedUp_thenNotFoundCountedPerOperation() {
+        // given precondition
+        long missingId = Long.MAX_VALUE;
+        double updateMisses = notFoundCount("updateEmployee");
+        double getMisses = notFoundCount("getEmployeeById");
+        // when action or behaviour
+        assertThrows(ResourceNotFoundException.class, () -> employeeService.updateEmployee(missingId, new Employee()));
+        employeeService.getEmployeeById(missingId);
+
+        // then expected result
+        assertThat(notFoundCount("updateEmployee")).isEqualTo(updateMisses + 1);
+        assertThat(notFoundCount("getEmployeeById")).isEqualTo(getMisses + 1);
+    }
+
+    private double notFoundCount(String operation) {
+        var counter = meterRegistry.find(NotFoundMetricsAspect.METRIC_NAME).tag("operation", operation).counter();
+        return counter == null ? 0 : counter.count();
+    }
+}
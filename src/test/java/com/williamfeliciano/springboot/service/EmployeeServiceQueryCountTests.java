@@ -0,0 +1,191 @@
+package com.williamfeliciano.springboot.service;
+
+import com.williamfeliciano.springboot.dto.BatchResult;
+import com.williamfeliciano.springboot.dto.CursorPage;
+import com.williamfeliciano.springboot.dto.SlicePage;
+import com.williamfeliciano.springboot.fixture.EmployeeFixture;
+import com.williamfeliciano.springboot.model.Employee;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.ResourceLock;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pins the number of statements each EmployeeService operation sends to the database, so
+ * an N+1 or an extra round trip fails the build. Writes allow a range, since ids come from
+ * sequences in blocks of 50 and the blocks left over from earlier tests vary. Run on their
+ * own with {@code mvn test -Dgroups=query-count}.
+ */
+@Tag("query-count")
+@SpringBootTest
+@ResourceLock(EmployeeFixture.SHARED_DATABASE)
+public class EmployeeServiceQueryCountTests {
+
+    private static final int SEEDED_EMPLOYEES = 1000;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private EmployeeCache employeeCache;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private EmployeeFixture employeeFixture;
+
+    private Statistics statistics;
+
+    private long firstId;
+
+    @BeforeEach
+    public void setup() {
+        employeeFixture = new EmployeeFixture(dataSource, entityManagerFactory);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        firstId = employeeFixture.insertEmployees(SEEDED_EMPLOYEES);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        employeeFixture.deleteAll();
+        employeeCache.invalidateAll();
+    }
+
+    @DisplayName("Test for statements sent by get employee by id")
+    @Test
+    public void givenSeededEmployee_whenGetEmployeeByIdTwice_thenOneSelect() {
+        // given precondition
+        statistics.clear();
+
+        // when action or behaviour
+        Optional<Employee> first = employeeService.getEmployeeById(firstId);
+        Optional<Employee> second = employeeService.getEmployeeById(firstId);
+
+        // then expected result
+        assertThat(first).isPresent();
+        assertThat(second).isPresent();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @DisplayName("Test for statements sent by a keyset page of employees")
+    @Test
+    public void givenSeededEmployees_whenGetEmployeesPage_thenOneSelect() {
+        // given precondition
+        statistics.clear();
+
+        // when action or behaviour
+        CursorPage<Employee> page = employeeService.getEmployeesPage(firstId, 100);
+
+        // then expected result
+        assertThat(page.getContent()).hasSize(100);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @DisplayName("Test for statements sent by a last name search")
+    @Test
+    public void givenSeededEmployees_whenSearchEmployees_thenOneSelectWithoutCount() {
+        // given precondition
+        statistics.clear();
+
+        // when action or behaviour
+        SlicePage<Employee> page = employeeService.searchEmployees("Last", null, 0, 20);
+
+        // then expected result
+        assertThat(page.getContent()).hasSize(20);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @DisplayName("Test for statements sent while streaming every employee")
+    @Test
+    public void givenSeededEmployees_whenStreamEmployees_thenOneSelect() {
+        // given precondition
+        AtomicInteger streamed = new AtomicInteger();
+        statistics.clear();
+
+        // when action or behaviour
+        employeeService.streamEmployees(employee -> streamed.incrementAndGet());
+
+        // then expected result
+        assertThat(streamed).hasValue(SEEDED_EMPLOYEES);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @DisplayName("Test for statements sent by a batch of creates")
+    @Test
+    public void givenHundredNewEmployees_whenSaveEmployees_thenInsertsAreBatched() {
+        // given precondition
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            employees.add(Employee.builder()
+                    .firstName("William")
+                    .lastName("Feliciano")
+                    .email("batch" + i + "@gmail.com")
+                    .build());
+        }
+        statistics.clear();
+
+        // when action or behaviour
+        BatchResult result = employeeService.saveEmployees(employees);
+
+        // then expected result
+        assertThat(result.getCreated()).isEqualTo(100);
+        // Email lookup and one batched insert per table, plus two or three calls to each
+        // table's sequence for the 100 ids
+        assertThat(statistics.getPrepareStatementCount()).isBetween(7L, 9L);
+    }
+
+    @DisplayName("Test for statements sent by an update")
+    @Test
+    public void givenSeededEmployee_whenUpdateEmployee_thenVersionUpdateAndChange() {
+        // given precondition
+        Employee changes = Employee.builder()
+                .firstName("William")
+                .lastName("Feliciano")
+                .email("updated@gmail.com")
+                .build();
+        statistics.clear();
+
+        // when action or behaviour
+        Employee updatedEmployee = employeeService.updateEmployee(firstId, changes);
+
+        // then expected result
+        assertThat(updatedEmployee.getVersion()).isEqualTo(1);
+        // Load, versioned update and change insert, plus a sequence call when the
+        // change's block of ids is used up
+        assertThat(statistics.getPrepareStatementCount()).isBetween(3L, 4L);
+    }
+
+    @DisplayName("Test for statements sent by a delete")
+    @Test
+    public void givenSeededEmployee_whenDeleteEmployee_thenSelectDeleteAndChange() {
+        // given precondition
+        statistics.clear();
+
+        // when action or behaviour
+        Employee deletedEmployee = employeeService.deleteEmployee(firstId);
+
+        // then expected result
+        assertThat(deletedEmployee.getId()).isEqualTo(firstId);
+        // Select, delete and change insert, plus a sequence call when the change's block of
+        // ids is used up
+        assertThat(statistics.getPrepareStatementCount()).isBetween(3L, 4L);
+    }
+}
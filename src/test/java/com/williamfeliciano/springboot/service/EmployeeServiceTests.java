@@ -1,19 +1,40 @@
 package com.williamfeliciano.springboot.service;
 
+import com.williamfeliciano.springboot.config.EmployeeCacheProperties;
+import com.williamfeliciano.springboot.dto.BatchItemResult;
+import com.williamfeliciano.springboot.dto.BatchResult;
+import com.williamfeliciano.springboot.dto.CursorPage;
+import com.williamfeliciano.springboot.dto.SlicePage;
+import com.williamfeliciano.springboot.exception.PreconditionFailedException;
+import com.williamfeliciano.springboot.exception.ResourceConflictException;
 import com.williamfeliciano.springboot.exception.ResourceNotFoundException;
 import com.williamfeliciano.springboot.model.Employee;
+import com.williamfeliciano.springboot.model.EmployeeChange;
+import com.williamfeliciano.springboot.model.EmployeeField;
 import com.williamfeliciano.springboot.repository.EmployeeRepository;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 
+import java.sql.SQLException;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -28,6 +49,15 @@ public class EmployeeServiceTests {
     @Mock
     private EmployeeRepository employeeRepository;
 
+    @Mock
+    private EmployeeChangeFeed employeeChangeFeed;
+
+    @Captor
+    private ArgumentCaptor<List<EmployeeChange>> changes;
+
+    @Spy
+    private EmployeeCache employeeCache = new EmployeeCache(new EmployeeCacheProperties());
+
     @InjectMocks
     private EmployeeService employeeService;
 
@@ -49,32 +79,102 @@ public class EmployeeServiceTests {
     @Test
     public void givenEmployeeObj_whenSaveEmployee_thenReturnEmployeeObj() {
         // given precondition
-        given(employeeRepository.findByEmail(employee.getEmail()))
-                .willReturn(Optional.empty());
-        given(employeeRepository.save(employee)).willReturn(employee);
+        given(employeeRepository.saveAndFlush(employee)).willReturn(employee);
         // when action or behaviour
         Employee savedEmployee = employeeService.saveEmployee(employee);
         // then expected result
         assertThat(savedEmployee).isNotNull();
         assertThat(savedEmployee.getId()).isGreaterThan(0);
         assertThat(savedEmployee.getFirstName()).isEqualTo("William");
+        verify(employeeRepository, never()).findByEmail(any(String.class));
+    }
+
+    @DisplayName("Test for save employee operation recording the change")
+    @Test
+    public void givenEmployeeObj_whenSaveEmployee_thenRecordsCreatedChange() {
+        // given precondition
+        given(employeeRepository.saveAndFlush(employee)).willReturn(employee);
+        // when action or behaviour
+        employeeService.saveEmployee(employee);
+        // then expected result
+        verify(employeeChangeFeed).record(changes.capture());
+        EmployeeChange change = changes.getValue().get(0);
+        assertThat(changes.getValue()).hasSize(1);
+        assertThat(change.getType()).isEqualTo(EmployeeChange.Type.CREATED);
+        assertThat(change.getEmployeeId()).isEqualTo(employee.getId());
+        assertThat(change.getEmail()).isEqualTo(employee.getEmail());
     }
 
     @DisplayName("Test for save employee operation which throws exception")
     @Test
     public void givenExistingEmployeeObj_whenSaveEmployee_thenThrowExcption() {
         // given precondition
-        given(employeeRepository.findByEmail(employee.getEmail()))
-                .willReturn(Optional.of(employee));
-        // given(employeeRepository.save(employee)).willThrow(new ResourceNotFoundException("Email already taken"));;
+        given(employeeRepository.saveAndFlush(employee)).willThrow(new DataIntegrityViolationException(
+                "could not execute statement",
+                new ConstraintViolationException("Unique index or primary key violation", new SQLException(),
+                        "PUBLIC.UK_EMPLOYEES_EMAIL_INDEX_2")));
         // when action or behaviour
-        assertThrows(ResourceNotFoundException.class, () -> {
+        assertThrows(ResourceConflictException.class, () -> {
             employeeService.saveEmployee(employee);
         });
         // then expected result
-        verify(employeeRepository, never()).save(any(Employee.class));
+        assertThat(employeeCache.get(employee.getId(), id -> Optional.empty())).isEmpty();
     }
 
+    @DisplayName("Test for save employee operation which fails on another constraint")
+    @Test
+    public void givenIncompleteEmployeeObj_whenSaveEmployee_thenPropagateDataIntegrityViolation() {
+        // given precondition
+        given(employeeRepository.saveAndFlush(employee)).willThrow(new DataIntegrityViolationException(
+                "could not execute statement",
+                new ConstraintViolationException("NULL not allowed for column", new SQLException(), null)));
+        // when action or behaviour
+        assertThrows(DataIntegrityViolationException.class, () -> employeeService.saveEmployee(employee));
+    }
+
+    @DisplayName("Test for save employees in bulk operation")
+    @Test
+    @SuppressWarnings("unchecked")
+    public void givenEmployeeList_whenSaveEmployees_thenReportsEachEmployee() {
+        // given precondition
+        Employee newEmployee = Employee.builder()
+                .firstName("John")
+                .lastName("Cena")
+                .email("cena@gmail.com")
+                .build();
+        Employee sameEmailEmployee = Employee.builder()
+                .firstName("Johnny")
+                .lastName("Cena")
+                .email("cena@gmail.com")
+                .build();
+        Employee existingEmailEmployee = Employee.builder()
+                .firstName("Will")
+                .lastName("Feliciano")
+                .email(employee.getEmail())
+                .build();
+        Employee incompleteEmployee = Employee.builder()
+                .firstName("Jane")
+                .build();
+        given(employeeRepository.findExistingEmails(List.of("cena@gmail.com", employee.getEmail())))
+                .willReturn(Set.of(employee.getEmail()));
+        given(employeeRepository.saveAllAndFlush(List.of(newEmployee))).willAnswer(invocation -> {
+            List<Employee> employees = invocation.getArgument(0);
+            employees.get(0).setId(2L);
+            return employees;
+        });
+        // when action or behaviour
+        BatchResult result = employeeService.saveEmployees(
+                List.of(newEmployee, sameEmailEmployee, existingEmailEmployee, incompleteEmployee));
+
+        // then expected result
+        assertThat(result.getCreated()).isEqualTo(1);
+        assertThat(result.getFailed()).isEqualTo(3);
+        assertThat(result.getItems()).extracting(BatchItemResult::getStatus).containsExactly(
+                BatchItemResult.Status.CREATED, BatchItemResult.Status.FAILED,
+                BatchItemResult.Status.FAILED, BatchItemResult.Status.FAILED);
+        assertThat(result.getItems().get(0).getId()).isEqualTo(2L);
+        verify(employeeRepository, never()).save(any(Employee.class));
+    }
 
     @DisplayName("Test for find all employees operation")
     @Test
@@ -103,6 +203,78 @@ public class EmployeeServiceTests {
         assertThat(employeeList).hasSize(0);
     }
 
+    @DisplayName("Test for keyset page of employees operation when more employees follow")
+    @Test
+    public void givenMoreEmployeesThanLimit_whenGetEmployeesPage_thenReturnsPageWithNextCursor() {
+        // given precondition
+        Employee employee2 = Employee.builder()
+                .id(2L)
+                .firstName("John")
+                .lastName("Cena")
+                .email("cena@gmail.com")
+                .build();
+        given(employeeRepository.findByIdGreaterThanOrderByIdAsc(0L, PageRequest.ofSize(2)))
+                .willReturn(List.of(employee, employee2));
+        // when action or behaviour
+        CursorPage<Employee> page = employeeService.getEmployeesPage(null, 1);
+
+        // then expected result
+        assertThat(page.getContent()).containsExactly(employee);
+        assertThat(page.getNextCursor()).isEqualTo(1L);
+    }
+
+    @DisplayName("Test for keyset page of employees operation on the last page")
+    @Test
+    public void givenFewerEmployeesThanLimit_whenGetEmployeesPage_thenReturnsPageWithoutNextCursor() {
+        // given precondition
+        given(employeeRepository.findByIdGreaterThanOrderByIdAsc(0L, PageRequest.ofSize(11)))
+                .willReturn(List.of(employee));
+        // when action or behaviour
+        CursorPage<Employee> page = employeeService.getEmployeesPage(0L, 10);
+
+        // then expected result
+        assertThat(page.getContent()).containsExactly(employee);
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    @DisplayName("Test for keyset page of selected employee fields operation")
+    @Test
+    public void givenFields_whenGetEmployeeFieldsPage_thenReturnsRowsWithNextCursor() {
+        // given precondition
+        Set<EmployeeField> fields = EnumSet.of(EmployeeField.EMAIL);
+        given(employeeRepository.findFieldsByIdGreaterThan(fields, 0L, 2))
+                .willReturn(List.of(Map.of("id", 1L, "email", "wfeliciano@gmail.com"),
+                        Map.of("id", 2L, "email", "cena@gmail.com")));
+        // when action or behaviour
+        CursorPage<Map<String, Object>> page = employeeService.getEmployeeFieldsPage(fields, null, 1);
+
+        // then expected result
+        assertThat(page.getContent()).containsExactly(Map.of("id", 1L, "email", "wfeliciano@gmail.com"));
+        assertThat(page.getNextCursor()).isEqualTo(1L);
+    }
+
+    @DisplayName("Test for searching employees by last name prefix operation")
+    @Test
+    public void givenLastNamePrefix_whenSearchEmployees_thenReturnsSlicePage() {
+        // given precondition
+        given(employeeRepository.findByLastNameStartingWithOrderByLastNameAscIdAsc("Fel", PageRequest.of(1, 10)))
+                .willReturn(new SliceImpl<>(List.of(employee), PageRequest.of(1, 10), true));
+        // when action or behaviour
+        SlicePage<Employee> page = employeeService.searchEmployees("Fel", null, 1, 10);
+
+        // then expected result
+        assertThat(page.getContent()).containsExactly(employee);
+        assertThat(page.getPage()).isEqualTo(1);
+        assertThat(page.isHasNext()).isTrue();
+    }
+
+    @DisplayName("Test for searching employees without any prefix operation")
+    @Test
+    public void givenNoPrefix_whenSearchEmployees_thenThrowsException() {
+        // when action or behaviour, then expected result
+        assertThrows(IllegalArgumentException.class, () -> employeeService.searchEmployees(null, null, 0, 10));
+    }
+
     @DisplayName("Test for find employee by id operation")
 
     @Test
@@ -130,12 +302,46 @@ public class EmployeeServiceTests {
         assertThat(dbEmployee).isEmpty();
     }
 
+    @DisplayName("Test for find employee by id operation served from the cache")
+    @Test
+    public void givenAnIdLookedUpTwice_whenFindById_thenRepositoryHitOnce() {
+        // given precondition
+        given(employeeRepository.findById(employee.getId())).willReturn(Optional.of(employee));
+        // when action or behaviour
+        employeeService.getEmployeeById(employee.getId());
+        Optional<Employee> dbEmployee = employeeService.getEmployeeById(employee.getId());
+
+        // then expected result
+        assertThat(dbEmployee).contains(employee);
+        verify(employeeRepository, times(1)).findById(employee.getId());
+        assertThat(employeeCache.stats().hitCount()).isEqualTo(1);
+    }
+
+    @DisplayName("Test for find employee by id operation caching a missing id")
+    @Test
+    public void givenInvalidIdLookedUpTwice_whenFindById_thenRepositoryHitOnce() {
+        // given precondition
+        given(employeeRepository.findById(employee.getId())).willReturn(Optional.empty());
+        // when action or behaviour
+        employeeService.getEmployeeById(employee.getId());
+        Optional<Employee> dbEmployee = employeeService.getEmployeeById(employee.getId());
+
+        // then expected result
+        assertThat(dbEmployee).isEmpty();
+        verify(employeeRepository, times(1)).findById(employee.getId());
+    }
+
     @DisplayName("Test for updating employee operation")
     @Test
     public void givenAValidIDAndEmployeeObj_whenUpdateEmployee_thenReturnsModifiedEmployeeObj() {
         // given precondition
-        given(employeeRepository.save(employee)).willReturn(employee);
+        employee.setVersion(3L);
         given(employeeRepository.findById(employee.getId())).willReturn(Optional.of(employee));
+        given(employeeRepository.saveAndFlush(employee)).willAnswer(invocation -> {
+            // What Hibernate's versioned update does to the managed entity
+            employee.setVersion(employee.getVersion() + 1);
+            return employee;
+        });
         Employee updatedEmployee = Employee.builder()
                 .firstName("Will")
                 .lastName("Felici")
@@ -147,15 +353,19 @@ public class EmployeeServiceTests {
 
         // then expected result
         assertThat(modifiedEmployee).isNotNull();
+        assertThat(modifiedEmployee.getId()).isEqualTo(employee.getId());
         assertThat(modifiedEmployee.getFirstName()).isEqualTo("Will");
         assertThat(modifiedEmployee.getLastName()).isEqualTo("Felici");
+        assertThat(modifiedEmployee.getVersion()).isEqualTo(4L);
+        assertThat(employeeService.getEmployeeById(employee.getId()).get().getFirstName()).isEqualTo("Will");
+        verify(employeeRepository, times(1)).findById(employee.getId());
     }
 
     @DisplayName("Test for updating employee operation when invalid id is given and no employee is found")
     @Test
     public void givenAnInValidIDAndEmployeeObj_whenUpdateEmployee_thenThrowsExcepion() {
         // given precondition
-        given(employeeRepository.findById(employee.getId())).willThrow(new ResourceNotFoundException("Employee not found"));
+        given(employeeRepository.findById(employee.getId())).willReturn(Optional.empty());
         Employee updatedEmployee = Employee.builder()
                 .firstName("Will")
                 .lastName("Felici")
@@ -166,7 +376,70 @@ public class EmployeeServiceTests {
         assertThrows(ResourceNotFoundException.class, () -> employeeService.updateEmployee(employee.getId(), updatedEmployee));
 
         // then expected result
-        verify(employeeRepository, never()).save(any(Employee.class));
+        verify(employeeRepository, never()).saveAndFlush(any(Employee.class));
+    }
+
+    @DisplayName("Test for updating employee operation with a stale expected version")
+    @Test
+    public void givenStaleVersion_whenUpdateEmployee_thenThrowsPreconditionFailed() {
+        // given precondition
+        employee.setVersion(3L);
+        given(employeeRepository.findById(employee.getId())).willReturn(Optional.of(employee));
+        Employee updatedEmployee = Employee.builder()
+                .firstName("Will")
+                .lastName("Felici")
+                .email("wf@gmail.com")
+                .build();
+
+        // when action or behaviour
+        assertThrows(PreconditionFailedException.class,
+                () -> employeeService.updateEmployee(employee.getId(), updatedEmployee, 2L));
+
+        // then expected result
+        assertThat(employeeCache.get(employee.getId(), id -> Optional.empty())).isEmpty();
+    }
+
+    @DisplayName("Test for an unconditional update losing the race to a concurrent writer")
+    @Test
+    public void givenConcurrentWriter_whenUpdateEmployee_thenThrowsConflict() {
+        // given precondition
+        employee.setVersion(1L);
+        given(employeeRepository.findById(employee.getId())).willReturn(Optional.of(employee));
+        given(employeeRepository.saveAndFlush(employee))
+                .willThrow(new ObjectOptimisticLockingFailureException(Employee.class, employee.getId()));
+        Employee updatedEmployee = Employee.builder()
+                .firstName("Will")
+                .lastName("Felici")
+                .email("wf@gmail.com")
+                .build();
+
+        // when action or behaviour
+        assertThrows(ResourceConflictException.class,
+                () -> employeeService.updateEmployee(employee.getId(), updatedEmployee));
+
+        // then expected result
+        verify(employeeRepository, times(1)).saveAndFlush(employee);
+    }
+
+    @DisplayName("Test for updating employee operation with an email that is already taken")
+    @Test
+    public void givenTakenEmail_whenUpdateEmployee_thenThrowsConflict() {
+        // given precondition
+        employee.setVersion(3L);
+        given(employeeRepository.findById(employee.getId())).willReturn(Optional.of(employee));
+        given(employeeRepository.saveAndFlush(employee))
+                .willThrow(new DataIntegrityViolationException("could not execute statement",
+                        new ConstraintViolationException("Unique index or primary key violation", new SQLException(),
+                                "PUBLIC.UK_EMPLOYEES_EMAIL_INDEX_2")));
+        Employee updatedEmployee = Employee.builder()
+                .firstName("Will")
+                .lastName("Felici")
+                .email("wf@gmail.com")
+                .build();
+
+        // when action or behaviour, then expected result
+        assertThrows(ResourceConflictException.class,
+                () -> employeeService.updateEmployee(employee.getId(), updatedEmployee, 3L));
     }
 
     @DisplayName("Test for deleting employee operation")
@@ -174,23 +447,50 @@ public class EmployeeServiceTests {
     public void givenAValidID_whenDeleteEmployee_thenReturnsDeletedEmployeeObj() {
         // given precondition
         given(employeeRepository.findById(employee.getId())).willReturn(Optional.of(employee));
-        willDoNothing().given(employeeRepository).deleteById(employee.getId());
+        willDoNothing().given(employeeRepository).delete(employee);
         // when action or behaviour
         Employee deletedEmployee = employeeService.deleteEmployee(employee.getId());
         // then expected result
         assertThat(deletedEmployee).isNotNull();
         assertThat(deletedEmployee.getFirstName()).isEqualTo("William");
-        verify(employeeRepository, times(1)).deleteById(employee.getId());
+        verify(employeeRepository, times(1)).delete(employee);
+        verify(employeeRepository, never()).deleteById(employee.getId());
+        assertThat(employeeService.getEmployeeById(employee.getId())).isEmpty();
+    }
+
+    @DisplayName("Test for deleting employee operation with a stale expected version")
+    @Test
+    public void givenStaleVersion_whenDeleteEmployee_thenThrowsPreconditionFailed() {
+        // given precondition
+        employee.setVersion(3L);
+        given(employeeRepository.findById(employee.getId())).willReturn(Optional.of(employee));
+        // when action or behaviour
+        assertThrows(PreconditionFailedException.class, () -> employeeService.deleteEmployee(employee.getId(), 2L));
+        // then expected result
+        verify(employeeRepository, never()).delete(any(Employee.class));
     }
 
     @DisplayName("Test for deleting employee operation when invalid id is given and no employee is found")
     @Test
     public void givenAnInValidID_whenDeleteEmployee_thenThrowsExcepion() {
         // given precondition
-        given(employeeRepository.findById(employee.getId())).willThrow(new ResourceNotFoundException("Employee not found"));
+        given(employeeRepository.findById(employee.getId())).willReturn(Optional.empty());
         // when action or behaviour
         assertThrows(ResourceNotFoundException.class, () -> employeeService.deleteEmployee(employee.getId()));
         // then expected result
-        verify(employeeRepository, never()).deleteById(employee.getId());
+        verify(employeeRepository, never()).delete(any(Employee.class));
+    }
+
+    @DisplayName("Test for not-found being thrown without filling in a stack trace")
+    @Test
+    public void givenAnInValidID_whenDeleteEmployee_thenExceptionHasNoStackTrace() {
+        // given precondition
+        given(employeeRepository.findById(employee.getId())).willReturn(Optional.empty());
+        // when action or behaviour
+        ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class,
+                () -> employeeService.deleteEmployee(employee.getId()));
+        // then expected result
+        assertThat(exception.getStackTrace()).isEmpty();
+        assertThat(exception).hasMessage("Employee not found");
     }
 }